@@ -0,0 +1,92 @@
+package com.minelittlepony.client.pony;
+
+import net.minecraft.util.Identifier;
+
+import com.minelittlepony.api.pony.IPony;
+import com.minelittlepony.api.pony.IPonyManager;
+import com.minelittlepony.api.pony.meta.Race;
+import com.minelittlepony.settings.PonyConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up ponies that are already in the cache.
+ *
+ * The cache is seeded with made up metadata, so no skins are read and the game doesn't have to be running.
+ * There are no background ponies, so background lookups measure the fallback to the default skins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PonyManagerBenchmark {
+
+    @Param({"16", "512"})
+    public int textures;
+
+    private PonyManager manager;
+
+    private Identifier[] ids;
+    private UUID[] uuids;
+
+    private int next;
+
+    @Setup
+    public void seedCache() {
+        manager = new PonyManager(new PonyConfig(Paths.get("build", "tmp", "jmh", "minelp.json")), PonyDataCache.NONE);
+
+        Race[] races = Race.values();
+        Random rng = new Random(0);
+
+        ids = new Identifier[textures];
+        uuids = new UUID[textures];
+
+        for (int i = 0; i < textures; i++) {
+            ids[i] = new Identifier("minelittlepony", "textures/benchmark/skin_" + i + ".png");
+            uuids[i] = new UUID(rng.nextLong(), rng.nextLong());
+            manager.seedPony(ids[i], PonyData.of(races[i % races.length]));
+        }
+
+        manager.seedPony(IPonyManager.STEVE, PonyData.of(Race.EARTH));
+        manager.seedPony(IPonyManager.ALEX, PonyData.of(Race.EARTH));
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (next + 1) % textures;
+        return i;
+    }
+
+    @Benchmark
+    public IPony getPony() {
+        return manager.getPony(ids[nextIndex()]);
+    }
+
+    @Benchmark
+    public IPony getPonyForUuid() {
+        int i = nextIndex();
+        return manager.getPony(ids[i], uuids[i]);
+    }
+
+    @Benchmark
+    public IPony getBackgroundPony() {
+        return manager.getBackgroundPony(uuids[nextIndex()]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.minelittlepony.client.pony;
+
+import com.minelittlepony.api.pony.IPonyData;
+import com.minelittlepony.api.pony.meta.TriggerPixels;
+import com.minelittlepony.client.util.render.PngRegionDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reading pony metadata from the trigger pixels of every skin in a folder, one skin per call.
+ *
+ * Uses the textures shipped with the mod unless a different folder is given with {@code -p corpus=<path>}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerPixelsBenchmark {
+
+    private static final int REGION_SIZE = TriggerPixels.REGION_WIDTH * TriggerPixels.REGION_HEIGHT;
+
+    @Param("src/main/resources/assets/minelittlepony/textures/entity")
+    public String corpus;
+
+    private byte[][] skins;
+    private int[][] regions;
+
+    private final int[] region = new int[REGION_SIZE];
+
+    private int next;
+
+    @Setup
+    public void loadCorpus() throws IOException {
+        List<Path> files;
+
+        try (Stream<Path> paths = Files.walk(Paths.get(corpus))) {
+            files = paths.filter(path -> path.toString().endsWith(".png")).sorted().collect(Collectors.toList());
+        }
+
+        List<byte[]> decodable = new ArrayList<>();
+        List<int[]> decoded = new ArrayList<>();
+
+        for (Path file : files) {
+            byte[] png = Files.readAllBytes(file);
+            int[] pixels = new int[REGION_SIZE];
+
+            if (PngRegionDecoder.decode(png, TriggerPixels.REGION_WIDTH, TriggerPixels.REGION_HEIGHT, pixels)) {
+                decodable.add(png);
+                decoded.add(pixels);
+            }
+        }
+
+        if (decodable.isEmpty()) {
+            throw new IllegalStateException("No readable skins found in " + corpus);
+        }
+
+        skins = decodable.toArray(new byte[decodable.size()][]);
+        regions = decoded.toArray(new int[decoded.size()][]);
+    }
+
+    private int nextSkin() {
+        int i = next;
+        next = (next + 1) % skins.length;
+        return i;
+    }
+
+    /**
+     * Decodes the trigger pixel region straight from the png and parses it.
+     */
+    @Benchmark
+    public IPonyData decodeAndParse() throws IOException {
+        PngRegionDecoder.decode(skins[nextSkin()], TriggerPixels.REGION_WIDTH, TriggerPixels.REGION_HEIGHT, region);
+        return PonyData.fromRegion(region);
+    }
+
+    /**
+     * Parses an already decoded trigger pixel region.
+     */
+    @Benchmark
+    public IPonyData parse() {
+        return PonyData.fromRegion(regions[nextSkin()]);
+    }
+}
@@ -0,0 +1,178 @@
+package com.minelittlepony.client.transform;
+
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.Arm;
+
+import com.minelittlepony.api.pony.IPonyData;
+import com.minelittlepony.api.pony.meta.Race;
+import com.minelittlepony.api.pony.meta.Size;
+import com.minelittlepony.client.pony.PonyData;
+import com.minelittlepony.model.BodyPart;
+import com.minelittlepony.model.IModel;
+import com.minelittlepony.model.ModelAttributes;
+import com.minelittlepony.model.armour.IEquestrianArmour;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying the per-part transformations of every size to a matrix stack,
+ * the same way {@link com.minelittlepony.client.model.AbstractPonyModel} does when it's drawn.
+ *
+ * Transforming is expected to never allocate. Setup fails if it does, so a regression stops the run
+ * instead of only showing up as a slower score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PonyTransformationBenchmark {
+
+    private static final BodyPart[] PARTS = BodyPart.values();
+
+    private static final int CALLS = 10000;
+
+    @Param
+    public Size size;
+
+    @Param({"false", "true"})
+    public boolean crouching;
+
+    /**
+     * Flying and swimming ponies tilt their head with their motion.
+     */
+    @Param({"0", "37.4"})
+    public float motionPitch;
+
+    private final MatrixStack stack = new MatrixStack();
+
+    private IModel model;
+
+    @Setup
+    public void createModel() {
+        model = new StandInModel(size, crouching, motionPitch);
+
+        checkAllocations();
+    }
+
+    private void checkAllocations() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean)threads;
+        long thread = Thread.currentThread().getId();
+
+        for (int round = 0; round < 2; round++) {
+            long before = counter.getThreadAllocatedBytes(thread);
+
+            for (int i = 0; i < CALLS; i++) {
+                stack.peek().getModel().loadIdentity();
+                stack.peek().getNormal().loadIdentity();
+                model.transform(PARTS[i % PARTS.length], stack);
+            }
+
+            long allocated = counter.getThreadAllocatedBytes(thread) - before;
+
+            // the first round may allocate while classes load and the table is filled,
+            // and reading the counter can cost a few bytes, but any allocation per call adds up to far more
+            if (round > 0 && allocated >= CALLS) {
+                throw new IllegalStateException("Transforming a " + size + " pony allocated " + allocated + " bytes over " + CALLS + " calls");
+            }
+        }
+    }
+
+    /**
+     * Transforms every body part in turn, as a model does when it's drawn.
+     */
+    @Benchmark
+    public void transformAllParts(Blackhole blackhole) {
+        for (BodyPart part : PARTS) {
+            stack.push();
+            model.transform(part, stack);
+            blackhole.consume(stack.peek().getModel());
+            stack.pop();
+        }
+    }
+
+    /**
+     * The least a model needs to be transformed, without having to load any of the real ones.
+     */
+    private static final class StandInModel implements IModel {
+        private final Size size;
+        private final ModelAttributes<?> attributes = new ModelAttributes<>();
+        private final IPonyData metadata;
+
+        StandInModel(Size size, boolean crouching, float motionPitch) {
+            this.size = size;
+            this.metadata = PonyData.of(Race.EARTH);
+            attributes.isCrouching = crouching;
+            attributes.motionPitch = motionPitch;
+        }
+
+        @Override
+        public void transform(BodyPart part, MatrixStack stack) {
+            PonyTransformation.transformPart(this, part, stack);
+        }
+
+        @Override
+        public Size getSize() {
+            return size;
+        }
+
+        @Override
+        public IEquestrianArmour<?> createArmour() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelAttributes<?> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public IPonyData getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public void apply(IPonyData meta) {
+        }
+
+        @Override
+        public boolean isRiding() {
+            return false;
+        }
+
+        @Override
+        public float getSwingAmount() {
+            return 0;
+        }
+
+        @Override
+        public float getRiderYOffset() {
+            return 0;
+        }
+
+        @Override
+        public void setArmAngle(Arm arm, MatrixStack stack) {
+        }
+    }
+}
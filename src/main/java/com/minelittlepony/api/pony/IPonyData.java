@@ -53,6 +53,11 @@ public interface IPonyData {
      */
     boolean isWearing(Wearable wearable);
 
+    /**
+     * Gets all of the accessories this pony is wearing as a bitmask, indexed by their ordinals.
+     */
+    int getWearableMask();
+
     /**
      * Gets an interpolator for interpolating values.
      */
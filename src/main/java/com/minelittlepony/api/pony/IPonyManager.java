@@ -3,7 +3,10 @@ package com.minelittlepony.api.pony;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.Identifier;
 
+import com.minelittlepony.api.pony.meta.Race;
+
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The PonyManager is responsible for reading and recoding all the pony data associated with an entity of skin.
@@ -41,6 +44,34 @@ public interface IPonyManager  {
      */
     IPony getPony(Identifier resource, UUID uuid);
 
+    /**
+     * Gets or creates a pony for the given skin resource without blocking.
+     *
+     * The returned future completes once the skin's metadata has been read.
+     * By default the pony is looked up right away and returned already completed.
+     *
+     * @param resource A texture resource
+     */
+    default CompletableFuture<IPony> getPonyAsync(Identifier resource) {
+        return CompletableFuture.completedFuture(getPony(resource));
+    }
+
+    /**
+     * Gets the pony for the given skin resource if it is already loaded, otherwise starts loading it in the background.
+     *
+     * Until the skin is ready a placeholder is returned in its place, either the default pony or a background pony
+     * as determined by the uuid. Callers that query again every frame will pick up the real pony once it completes.
+     * By default this looks the pony up right away, the same as {@link #getPony(Identifier, UUID)}.
+     *
+     * Delegates to the background-ponies registry if no pony skins were available and client settings allows it.
+     *
+     * @param resource A texture resource
+     * @param uuid id of a player or entity
+     */
+    default IPony getPonyOrPlaceholder(Identifier resource, UUID uuid) {
+        return getPony(resource, uuid);
+    }
+
     /**
      * Gets the default pony. Either STEVE/ALEX, or a background pony based on client settings.
      *
@@ -57,6 +88,18 @@ public interface IPonyManager  {
      */
     IPony getBackgroundPony(UUID uuid);
 
+    /**
+     * Gets a random background pony of the given race determined by the given uuid.
+     * Falls back to any background pony if none of that race are installed.
+     * By default the race is ignored.
+     *
+     * @param uuid  A UUID. Either a user or an entity.
+     * @param race  The race the pony should be.
+     */
+    default IPony getBackgroundPony(UUID uuid, Race race) {
+        return getBackgroundPony(uuid);
+    }
+
     /**
      * De-registers a pony from the cache.
      */
@@ -19,14 +19,7 @@ public interface ITriggerPixelMapped<T extends Enum<T> & ITriggerPixelMapped<T>>
      * @param type Return type and default value.
      * @param pixelValue The pixel colour to search for.
      */
-    @SuppressWarnings("unchecked")
     static <T extends Enum<T> & ITriggerPixelMapped<T>> T getByTriggerPixel(T type, int pixelValue) {
-        for (T i : (T[])type.getClass().getEnumConstants()) {
-            if (i.getTriggerPixel() == pixelValue) {
-                return i;
-            }
-        }
-
-        return type;
+        return TriggerPixelTable.of(type.getDeclaringClass()).get(pixelValue, type);
     }
 }
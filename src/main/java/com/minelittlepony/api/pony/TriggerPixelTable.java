@@ -0,0 +1,75 @@
+package com.minelittlepony.api.pony;
+
+/**
+ * Open-addressed table mapping trigger pixel colours to the enum values they represent.
+ *
+ * One is built the first time an enum is looked up, and reused for all lookups after that.
+ */
+final class TriggerPixelTable {
+
+    private static final ClassValue<TriggerPixelTable> TABLES = new ClassValue<TriggerPixelTable>() {
+        @Override
+        protected TriggerPixelTable computeValue(Class<?> type) {
+            return new TriggerPixelTable((ITriggerPixelMapped<?>[])type.getEnumConstants());
+        }
+    };
+
+    private final int mask;
+
+    private final int[] keys;
+    private final Object[] values;
+
+    /**
+     * Gets the lookup table for the given enum type.
+     */
+    static TriggerPixelTable of(Class<?> type) {
+        return TABLES.get(type);
+    }
+
+    private TriggerPixelTable(ITriggerPixelMapped<?>[] constants) {
+        // keep the load factor below one half so probes stay short
+        int capacity = Integer.highestOneBit(Math.max(1, constants.length) * 2) << 1;
+
+        mask = capacity - 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+
+        for (ITriggerPixelMapped<?> constant : constants) {
+            int key = constant.getTriggerPixel();
+            int i = indexOf(key);
+
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+
+            // when values share a colour the first declared one wins
+            if (values[i] == null) {
+                keys[i] = key;
+                values[i] = constant;
+            }
+        }
+    }
+
+    /**
+     * Gets the value mapped to the given colour, or the default if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(int pixelValue, T def) {
+        int i = indexOf(pixelValue);
+
+        while (values[i] != null) {
+            if (keys[i] == pixelValue) {
+                return (T)values[i];
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        return def;
+    }
+
+    private int indexOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
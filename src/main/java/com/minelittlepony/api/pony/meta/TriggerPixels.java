@@ -18,6 +18,15 @@ public enum TriggerPixels {
     GLOW(null, Channel.RAW, 0, 1),
     WEARABLES(Wearable.NONE, Channel.RAW, 1, 1);
 
+    /**
+     * Width of the region in the top-left corner of a skin that holds every trigger pixel.
+     */
+    public static final int REGION_WIDTH = 4;
+    /**
+     * Height of the region in the top-left corner of a skin that holds every trigger pixel.
+     */
+    public static final int REGION_HEIGHT = 2;
+
     private int x;
     private int y;
 
@@ -25,8 +34,11 @@ public enum TriggerPixels {
 
     ITriggerPixelMapped<?> def;
 
+    private final int valueCount;
+
     TriggerPixels(ITriggerPixelMapped<?> def, Channel channel, int x, int y) {
         this.def = def;
+        this.valueCount = def == null ? 0 : ((Enum<?>)def).getDeclaringClass().getEnumConstants().length;
         this.channel = channel;
         this.x = x;
         this.y = y;
@@ -38,7 +50,16 @@ public enum TriggerPixels {
      * @param image Image to read
      */
     public int readColor(NativeImage image) {
-        return channel.readValue(x, y, image);
+        return channel.readValue(getPixel(image));
+    }
+
+    /**
+     * Reads this trigger pixel's value and returns the raw colour.
+     *
+     * @param region argb pixels of the trigger pixel region, in rows of {@link #REGION_WIDTH}
+     */
+    public int readColor(int[] region) {
+        return channel.readValue(getPixel(region));
     }
 
     /**
@@ -47,36 +68,95 @@ public enum TriggerPixels {
      * @param image Image to read
      */
     public <T extends Enum<T> & ITriggerPixelMapped<T>> T readValue(NativeImage image) {
-        if (Channel.ALPHA.readValue(x, y, image) < 255) {
-            return (T)def;
-        }
+        return parseValue(getPixel(image));
+    }
 
-        return ITriggerPixelMapped.getByTriggerPixel((T)def, readColor(image));
+    /**
+     * Reads this trigger pixel's value and parses it to an Enum instance.
+     *
+     * @param region argb pixels of the trigger pixel region, in rows of {@link #REGION_WIDTH}
+     */
+    public <T extends Enum<T> & ITriggerPixelMapped<T>> T readValue(int[] region) {
+        return parseValue(getPixel(region));
     }
 
     public <T extends Enum<T> & ITriggerPixelMapped<T>> boolean[] readFlags(NativeImage image) {
-        boolean[] out = new boolean[def.getClass().getEnumConstants().length];
+        boolean[] out = new boolean[valueCount];
         readFlags(out, image);
         return out;
     }
 
+    public <T extends Enum<T> & ITriggerPixelMapped<T>> boolean[] readFlags(int[] region) {
+        boolean[] out = new boolean[valueCount];
+        readFlags(out, region);
+        return out;
+    }
+
     public <T extends Enum<T> & ITriggerPixelMapped<T>> void readFlags(boolean[] out, NativeImage image) {
-        readFlag(out, Channel.RED, image);
-        readFlag(out, Channel.GREEN, image);
-        readFlag(out, Channel.BLUE, image);
+        parseFlags(out, getPixel(image));
+    }
+
+    public <T extends Enum<T> & ITriggerPixelMapped<T>> void readFlags(boolean[] out, int[] region) {
+        parseFlags(out, getPixel(region));
+    }
+
+    private int getPixel(NativeImage image) {
+        return Color.abgrToArgb(image.getPixelColor(x, y));
     }
 
-    private <T extends Enum<T> & ITriggerPixelMapped<T>> void readFlag(boolean[] out, Channel channel, NativeImage image) {
+    private int getPixel(int[] region) {
+        return region[y * REGION_WIDTH + x];
+    }
+
+    private <T extends Enum<T> & ITriggerPixelMapped<T>> T parseValue(int pixel) {
+        if (Channel.ALPHA.readValue(pixel) < 255) {
+            return (T)def;
+        }
+
+        return ITriggerPixelMapped.getByTriggerPixel((T)def, channel.readValue(pixel));
+    }
 
-        if (Channel.ALPHA.readValue(x, y, image) < 255) {
+    private <T extends Enum<T> & ITriggerPixelMapped<T>> void parseFlags(boolean[] out, int pixel) {
+        if (Channel.ALPHA.readValue(pixel) < 255) {
             return;
         }
 
-        T value = ITriggerPixelMapped.getByTriggerPixel((T)def, channel.readValue(x, y, image));
+        parseFlag(out, Channel.RED, pixel);
+        parseFlag(out, Channel.GREEN, pixel);
+        parseFlag(out, Channel.BLUE, pixel);
+    }
+
+    private <T extends Enum<T> & ITriggerPixelMapped<T>> void parseFlag(boolean[] out, Channel channel, int pixel) {
+        T value = ITriggerPixelMapped.getByTriggerPixel((T)def, channel.readValue(pixel));
 
         out[value.ordinal()] |= value != def;
     }
 
+    /**
+     * Computes a hash over the position and channel of every trigger pixel, and all the values each of them maps to.
+     *
+     * Anything persisting the results of reading trigger pixels can use this to tell when they've gone stale.
+     */
+    public static int getLayoutHash() {
+        int hash = 1;
+
+        for (TriggerPixels pixel : values()) {
+            hash = 31 * hash + pixel.name().hashCode();
+            hash = 31 * hash + pixel.channel.ordinal();
+            hash = 31 * hash + pixel.x;
+            hash = 31 * hash + pixel.y;
+
+            if (pixel.def != null) {
+                for (Object value : ((Enum<?>)pixel.def).getDeclaringClass().getEnumConstants()) {
+                    hash = 31 * hash + ((Enum<?>)value).name().hashCode();
+                    hash = 31 * hash + ((ITriggerPixelMapped<?>)value).getTriggerPixel();
+                }
+            }
+        }
+
+        return hash;
+    }
+
     enum Channel {
         RAW  (0xFFFFFFFF, 0),
         ALL  (0x00FFFFFF, 0),
@@ -93,8 +173,8 @@ public enum TriggerPixels {
             this.offset = offset;
         }
 
-        public int readValue(int x, int y, NativeImage image) {
-            return (Color.abgrToArgb(image.getPixelColor(x, y)) >> offset) & mask;
+        public int readValue(int argb) {
+            return (argb >> offset) & mask;
         }
     }
 }
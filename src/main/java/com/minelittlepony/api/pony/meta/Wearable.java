@@ -2,9 +2,6 @@ package com.minelittlepony.api.pony.meta;
 
 import com.minelittlepony.api.pony.ITriggerPixelMapped;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public enum Wearable implements ITriggerPixelMapped<Wearable> {
     NONE        (0x00),
     MUFFIN      (0x32),
@@ -24,12 +21,16 @@ public enum Wearable implements ITriggerPixelMapped<Wearable> {
         return triggerValue;
     }
 
-    public static Wearable[] flags(boolean[] flags) {
-        List<Wearable> wears = new ArrayList<>();
-        Wearable[] values = values();
-        for (int i = 0; i < values.length; i++) {
-            if (flags[i]) wears.add(values[i]);
+    private static final Wearable[] VALUES = values();
+
+    /**
+     * Gets the accessories set in the given bitmask, indexed by their ordinals.
+     */
+    public static Wearable[] flags(int bits) {
+        Wearable[] wears = new Wearable[Integer.bitCount(bits & ((1 << VALUES.length) - 1))];
+        for (int i = 0, j = 0; i < VALUES.length; i++) {
+            if ((bits & (1 << i)) != 0) wears[j++] = VALUES[i];
         }
-        return wears.toArray(new Wearable[0]);
+        return wears;
     }
 }
@@ -2,9 +2,13 @@ package com.minelittlepony.client;
 
 import com.minelittlepony.api.pony.IPonyManager;
 import com.minelittlepony.client.model.ModelType;
+import com.minelittlepony.client.model.armour.DefaultArmourTextureResolver;
+import com.minelittlepony.client.pony.PonyDataCache;
 import com.minelittlepony.client.pony.PonyManager;
+import com.minelittlepony.client.pony.PonyPrefetcher;
 import com.minelittlepony.client.render.PonyRenderDispatcher;
 import com.minelittlepony.client.render.blockentity.skull.PonySkullRenderer;
+import com.minelittlepony.client.render.entity.npc.NpcTextureTables;
 import com.minelittlepony.client.settings.ClientPonyConfig;
 import com.minelittlepony.common.client.gui.VisibilityMode;
 import com.minelittlepony.common.client.gui.element.Button;
@@ -44,8 +48,10 @@ public class MineLittlePony implements ClientModInitializer {
 
     private ClientPonyConfig config;
     private PonyManager ponyManager;
+    private PonyPrefetcher prefetcher;
 
     private final KeyBinding keyBinding = new KeyBinding("key.minelittlepony.settings", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_F9, "key.categories.misc");
+    private final KeyBinding metricsKeyBinding = new KeyBinding("key.minelittlepony.metrics", InputUtil.Type.KEYSYM, GLFW.GLFW_KEY_F10, "key.categories.misc");
 
     private boolean hasHdSkins;
     private boolean hasModMenu;
@@ -67,11 +73,15 @@ public class MineLittlePony implements ClientModInitializer {
         hasModMenu = FabricLoader.getInstance().isModLoaded("modmenu");
 
         config = new ClientPonyConfig(GamePaths.getConfigDirectory().resolve("minelp.json"));
-        ponyManager = new PonyManager(config);
+        ponyManager = new PonyManager(config, new PonyDataCache(GamePaths.getConfigDirectory().resolve("minelp-ponies.bin")));
+        prefetcher = new PonyPrefetcher(ponyManager, config);
 
         KeyBindingHelper.registerKeyBinding(keyBinding);
+        KeyBindingHelper.registerKeyBinding(metricsKeyBinding);
 
         ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(ponyManager);
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(DefaultArmourTextureResolver.INSTANCE);
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(NpcTextureTables.INSTANCE);
 
         // convert legacy pony skins
         SkinFilterCallback.EVENT.register(new LegacySkinConverter());
@@ -93,6 +103,7 @@ public class MineLittlePony implements ClientModInitializer {
     }
 
     private void onTick(MinecraftClient client) {
+        prefetcher.onTick(client);
 
         boolean inGame = client.world != null && client.player != null && client.currentScreen == null;
         boolean mainMenu = client.currentScreen instanceof TitleScreen;
@@ -104,6 +115,10 @@ public class MineLittlePony implements ClientModInitializer {
         if ((mainMenu || inGame) && keyBinding.isPressed()) {
             client.openScreen(new GuiPonySettings(client.currentScreen));
         }
+
+        if (inGame && metricsKeyBinding.wasPressed()) {
+            PonyMetrics.dump(client);
+        }
     }
 
     private void onScreenInit(Screen screen, ScreenInitCallback.ButtonList buttons) {
@@ -0,0 +1,327 @@
+package com.minelittlepony.client;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.entity.feature.FeatureRenderer;
+import net.minecraft.client.render.entity.EntityRenderer;
+import net.minecraft.text.TranslatableText;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.minelittlepony.client.render.MagicGlow;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of counters and timers tracking what the mod costs.
+ *
+ * Every metric is kept for the last frame, as an average over the last {@link #WINDOW} frames, and as a total.
+ * Metrics can be recorded from any thread, but frames are only ever advanced from the render thread.
+ */
+public final class PonyMetrics {
+    /**
+     * Number of frames the rolling averages are taken over.
+     */
+    public static final int WINDOW = 100;
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Map<String, Metric> METRICS = new ConcurrentSkipListMap<>();
+    private static final List<Sampler> SAMPLERS = new ArrayList<>();
+
+    public static final Metric PONIES_RESOLVED = register("poniesResolved");
+    public static final Metric CACHE_HITS = register("cacheHits");
+    public static final Metric CACHE_MISSES = register("cacheMisses");
+    public static final Metric METADATA_PARSES = register("metadataParses");
+    public static final Metric GL_READBACKS = register("glReadbacks");
+    public static final Metric POSES_COMPUTED = register("posesComputed");
+    public static final Metric POSES_REUSED = register("posesReused");
+    public static final Metric TINTED_LAYERS_CREATED = register("tintedLayersCreated");
+
+    private static final Metric[] VERTICES_DRAWN = Arrays.stream(Detail.values())
+            .map(detail -> register("verticesDrawn." + detail.name().toLowerCase(Locale.ROOT)))
+            .toArray(Metric[]::new);
+
+    private static final ClassValue<Metric> ENTITIES_RENDERED = new ClassValue<Metric>() {
+        @Override
+        protected Metric computeValue(Class<?> type) {
+            return register("entitiesRendered." + type.getSimpleName());
+        }
+    };
+
+    private static final ClassValue<Metric> FEATURES = new ClassValue<Metric>() {
+        @Override
+        protected Metric computeValue(Class<?> type) {
+            return register("features." + type.getSimpleName());
+        }
+    };
+
+    private static long frame;
+
+    private static boolean shown;
+
+    private PonyMetrics() {}
+
+    public static Metric register(String name) {
+        return METRICS.computeIfAbsent(name, Metric::new);
+    }
+
+    /**
+     * Feeds a metric from a running total kept somewhere else.
+     * The metric receives the change in the total once every frame.
+     */
+    public static synchronized void sample(Metric metric, LongSupplier total) {
+        SAMPLERS.add(new Sampler(metric, total));
+    }
+
+    /**
+     * Gets the metric counting entities drawn by the given renderer.
+     */
+    public static Metric getEntitiesRendered(EntityRenderer<?> renderer) {
+        return ENTITIES_RENDERED.get(renderer.getClass());
+    }
+
+    /**
+     * Gets the metric counting vertices emitted by pony models drawn with the given level of detail.
+     */
+    public static Metric getVerticesDrawn(Detail detail) {
+        return VERTICES_DRAWN[detail.ordinal()];
+    }
+
+    /**
+     * Gets the metric timing the given feature.
+     */
+    public static Metric getFeature(FeatureRenderer<?, ?> feature) {
+        return FEATURES.get(feature.getClass());
+    }
+
+    /**
+     * The number of frames drawn so far.
+     */
+    public static long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Whether the metrics are currently on the debug screen.
+     *
+     * Metrics that would cost something on a hot path, such as counting vertices, are only recorded while this is true,
+     * so a dump taken without the debug screen open leaves them at zero.
+     */
+    public static boolean isShown() {
+        return shown;
+    }
+
+    /**
+     * Closes off the current frame and starts the next one.
+     */
+    public static synchronized void endFrame() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        shown = client != null && client.options != null && client.options.debugEnabled;
+
+        SAMPLERS.forEach(Sampler::sample);
+
+        int slot = (int)(frame % WINDOW);
+        METRICS.values().forEach(metric -> metric.endFrame(slot));
+        frame++;
+    }
+
+    /**
+     * Gets the lines shown in the debug screen.
+     */
+    public static List<String> getDebugText() {
+        List<String> lines = new ArrayList<>();
+
+        lines.add("");
+        lines.add("[MineLP] " + describe(PONIES_RESOLVED) + " resolved, "
+                + describe(CACHE_HITS) + " hits, "
+                + describe(CACHE_MISSES) + " misses");
+        lines.add("[MineLP] " + describe(METADATA_PARSES) + " parses, " + describe(GL_READBACKS) + " readbacks");
+        lines.add("[MineLP] " + describe(POSES_COMPUTED) + " poses computed, " + describe(POSES_REUSED) + " reused");
+        lines.add("[MineLP] " + MagicGlow.getTintedLayerCount() + " tinted layers, " + describe(TINTED_LAYERS_CREATED) + " created");
+        lines.add("[MineLP] vertices " + Arrays.stream(VERTICES_DRAWN).map(PonyMetrics::describe).collect(Collectors.joining(" / ")));
+
+        METRICS.values().stream()
+            .filter(metric -> metric.getName().startsWith("entitiesRendered.") && metric.lifetimeCount > 0)
+            .forEach(metric -> lines.add("[MineLP] " + metric.getName().substring(17) + ": " + describe(metric)));
+
+        METRICS.values().stream()
+            .filter(metric -> metric.getName().startsWith("features.") && metric.lifetimeCount > 0)
+            .sorted(Comparator.comparingLong((Metric metric) -> metric.windowNanos).reversed())
+            .limit(5)
+            .forEach(metric -> lines.add("[MineLP] " + metric.getName().substring(9) + ": " + describe(metric)));
+
+        return lines;
+    }
+
+    private static String describe(Metric metric) {
+        String text = metric.lastCount + " (" + String.format("%.1f", metric.getAverageCount()) + ")";
+
+        if (metric.lifetimeNanos > 0) {
+            text += " " + String.format("%.3fms", metric.getAverageNanos() / 1000000D);
+        }
+
+        return text;
+    }
+
+    /**
+     * Writes all of the metrics to a json file in the game's debug folder and tells the player where it went.
+     */
+    public static void dump(MinecraftClient client) {
+        JsonObject json = new JsonObject();
+
+        json.addProperty("frame", frame);
+        json.addProperty("window", Math.min(frame, WINDOW));
+        json.addProperty("tintedLayers", MagicGlow.getTintedLayerCount());
+
+        JsonObject metrics = new JsonObject();
+        METRICS.values().forEach(metric -> metrics.add(metric.getName(), metric.toJson()));
+        json.add("metrics", metrics);
+
+        Path file = client.runDirectory.toPath()
+                .resolve("debug")
+                .resolve("minelp-metrics-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json");
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                GSON.toJson(json, writer);
+            }
+
+            MineLittlePony.logger.info("Saved pony metrics to {}", file);
+
+            if (client.inGameHud != null) {
+                client.inGameHud.getChatHud().addMessage(new TranslatableText("minelp.debug.metrics.saved", file.getFileName().toString()));
+            }
+        } catch (IOException e) {
+            MineLittlePony.logger.error("Unable to save pony metrics to {}", file, e);
+        }
+    }
+
+    /**
+     * A count of events, each optionally with the time it took.
+     */
+    public static final class Metric {
+        private final String name;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private final long[] countHistory = new long[WINDOW];
+        private final long[] nanoHistory = new long[WINDOW];
+
+        private long lastCount;
+        private long lastNanos;
+
+        private long windowCount;
+        private long windowNanos;
+
+        private long lifetimeCount;
+        private long lifetimeNanos;
+
+        private Metric(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        /**
+         * Records one event that took the given time.
+         */
+        public void record(long elapsedNanos) {
+            count.increment();
+            nanos.add(elapsedNanos);
+        }
+
+        /**
+         * Average number of events per frame.
+         */
+        public double getAverageCount() {
+            return windowCount / (double)Math.max(1, Math.min(frame, WINDOW));
+        }
+
+        /**
+         * Average time spent per frame.
+         */
+        public double getAverageNanos() {
+            return windowNanos / (double)Math.max(1, Math.min(frame, WINDOW));
+        }
+
+        private void endFrame(int slot) {
+            lastCount = count.sumThenReset();
+            lastNanos = nanos.sumThenReset();
+
+            windowCount += lastCount - countHistory[slot];
+            windowNanos += lastNanos - nanoHistory[slot];
+            countHistory[slot] = lastCount;
+            nanoHistory[slot] = lastNanos;
+
+            lifetimeCount += lastCount;
+            lifetimeNanos += lastNanos;
+        }
+
+        private JsonObject toJson() {
+            JsonObject json = new JsonObject();
+
+            json.addProperty("lastFrameCount", lastCount);
+            json.addProperty("averageCount", getAverageCount());
+            json.addProperty("totalCount", lifetimeCount);
+
+            if (lifetimeNanos > 0) {
+                json.addProperty("lastFrameMs", lastNanos / 1000000D);
+                json.addProperty("averageMs", getAverageNanos() / 1000000D);
+                json.addProperty("totalMs", lifetimeNanos / 1000000D);
+            }
+
+            return json;
+        }
+    }
+
+    private static final class Sampler {
+        private final Metric metric;
+        private final LongSupplier total;
+
+        private long previous;
+
+        Sampler(Metric metric, LongSupplier total) {
+            this.metric = metric;
+            this.total = total;
+            this.previous = total.getAsLong();
+        }
+
+        void sample() {
+            long current = total.getAsLong();
+
+            // totals can go backwards when whatever keeps them starts over
+            metric.add(Math.max(0, current - previous));
+            previous = current;
+        }
+    }
+}
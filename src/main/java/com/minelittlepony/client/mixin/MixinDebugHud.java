@@ -0,0 +1,19 @@
+package com.minelittlepony.client.mixin;
+
+import com.minelittlepony.client.PonyMetrics;
+
+import net.minecraft.client.gui.hud.DebugHud;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.List;
+
+@Mixin(DebugHud.class)
+abstract class MixinDebugHud {
+    @Inject(method = "getLeftText()Ljava/util/List;", at = @At("RETURN"))
+    private void onGetLeftText(CallbackInfoReturnable<List<String>> info) {
+        info.getReturnValue().addAll(PonyMetrics.getDebugText());
+    }
+}
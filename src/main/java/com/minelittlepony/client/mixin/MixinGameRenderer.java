@@ -0,0 +1,17 @@
+package com.minelittlepony.client.mixin;
+
+import com.minelittlepony.client.PonyMetrics;
+
+import net.minecraft.client.render.GameRenderer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(GameRenderer.class)
+abstract class MixinGameRenderer {
+    @Inject(method = "render(FJZ)V", at = @At("HEAD"))
+    private void onRender(float tickDelta, long startTime, boolean tick, CallbackInfo info) {
+        PonyMetrics.endFrame();
+    }
+}
@@ -0,0 +1,21 @@
+package com.minelittlepony.client.mixin;
+
+import com.minelittlepony.client.pony.PonyHandle;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(LivingEntity.class)
+abstract class MixinLivingEntity extends Entity implements PonyHandle.Holder {
+    public MixinLivingEntity() { super(null, null); }
+
+    @Unique
+    private final PonyHandle ponyHandle = new PonyHandle();
+
+    @Override
+    public PonyHandle getPonyHandle() {
+        return ponyHandle;
+    }
+}
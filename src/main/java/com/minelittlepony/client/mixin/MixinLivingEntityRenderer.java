@@ -0,0 +1,99 @@
+package com.minelittlepony.client.mixin;
+
+import com.minelittlepony.client.PonyMetrics;
+import com.minelittlepony.client.model.ClientPonyModel;
+import com.minelittlepony.client.render.IPonyRenderContext;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
+
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.entity.EntityRenderer;
+import net.minecraft.client.render.entity.LivingEntityRenderer;
+import net.minecraft.client.render.entity.feature.FeatureRenderer;
+import net.minecraft.client.render.entity.model.EntityModel;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(LivingEntityRenderer.class)
+abstract class MixinLivingEntityRenderer<T extends LivingEntity> extends EntityRenderer<T> {
+    private static final String LivingEntity = "Lnet/minecraft/entity/LivingEntity;";
+    private static final String Entity = "Lnet/minecraft/entity/Entity;";
+    private static final String MatrixStack = "Lnet/minecraft/client/util/math/MatrixStack;";
+    private static final String VertexConsumerProvider = "Lnet/minecraft/client/render/VertexConsumerProvider;";
+    private static final String EntityModel = "Lnet/minecraft/client/render/entity/model/EntityModel;";
+    private static final String FeatureRenderer = "Lnet/minecraft/client/render/entity/feature/FeatureRenderer;";
+
+    private static final String Float = "F";
+    private static final String Int = "I";
+
+    private static final String RENDER = "render(" + LivingEntity + Float + Float + MatrixStack + VertexConsumerProvider + Int + ")V";
+
+    MixinLivingEntityRenderer() { super(null); }
+
+    @Inject(method = RENDER, at = @At("HEAD"))
+    private void onRender(T entity, float yaw, float tickDelta, MatrixStack stack, VertexConsumerProvider renderContext, int lightUv, CallbackInfo info) {
+        if (this instanceof IPonyRenderContext) {
+            PonyMetrics.getEntitiesRendered(this).increment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Redirect(method = RENDER,
+              at = @At(value = "INVOKE",
+                       target = EntityModel + "setAngles(" + Entity + Float + Float + Float + Float + Float + ")V"))
+    private void redirectSetAngles(EntityModel<T> model, Entity entity, float limbAngle, float limbDistance, float age, float headYaw, float headPitch) {
+        if (!(model instanceof ClientPonyModel)) {
+            model.setAngles((T)entity, limbAngle, limbDistance, age, headYaw, headPitch);
+            return;
+        }
+
+        ClientPonyModel<T> pony = (ClientPonyModel<T>)model;
+
+        if (pony.getAttributes().reusePose && pony.restorePose((T)entity, limbDistance)) {
+            PonyMetrics.POSES_REUSED.increment();
+            return;
+        }
+
+        if (!PonyMetrics.isShown()) {
+            pony.setAngles((T)entity, limbAngle, limbDistance, age, headYaw, headPitch);
+            pony.storePose((T)entity);
+            return;
+        }
+
+        long start = System.nanoTime();
+        pony.setAngles((T)entity, limbAngle, limbDistance, age, headYaw, headPitch);
+        pony.storePose((T)entity);
+        PonyMetrics.POSES_COMPUTED.record(System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Redirect(method = RENDER,
+              at = @At(value = "INVOKE",
+                       target = FeatureRenderer + "render(" + MatrixStack + VertexConsumerProvider + Int + Entity + Float + Float + Float + Float + Float + Float + ")V"))
+    private void redirectRenderFeature(FeatureRenderer<T, ?> feature,
+            MatrixStack stack, VertexConsumerProvider renderContext, int lightUv, Entity entity,
+            float limbAngle, float limbDistance, float tickDelta, float age, float headYaw, float headPitch) {
+        if (!(this instanceof IPonyRenderContext)) {
+            feature.render(stack, renderContext, lightUv, (T)entity, limbAngle, limbDistance, tickDelta, age, headYaw, headPitch);
+            return;
+        }
+
+        if (((IPonyRenderContext<?, ?>)this).getModelWrapper().getBody().getAttributes().detail == Detail.MINIMAL) {
+            return;
+        }
+
+        if (!PonyMetrics.isShown()) {
+            feature.render(stack, renderContext, lightUv, (T)entity, limbAngle, limbDistance, tickDelta, age, headYaw, headPitch);
+            return;
+        }
+
+        long start = System.nanoTime();
+        feature.render(stack, renderContext, lightUv, (T)entity, limbAngle, limbDistance, tickDelta, age, headYaw, headPitch);
+        PonyMetrics.getFeature(feature).record(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,80 @@
+package com.minelittlepony.client.mixin;
+
+import com.google.common.io.ByteStreams;
+import com.minelittlepony.client.MineLittlePony;
+import com.minelittlepony.client.pony.PonyManager;
+
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.PlayerSkinTexture;
+import net.minecraft.client.texture.ResourceTexture;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Nullable;
+
+@Mixin(PlayerSkinTexture.class)
+abstract class MixinPlayerSkinTexture extends ResourceTexture implements PonyManager.RegisteredTexture {
+    MixinPlayerSkinTexture() { super(null); }
+
+    @Shadow
+    @Final
+    private boolean convertLegacy;
+
+    @Unique
+    @Nullable
+    private Identifier registeredId;
+
+    @Unique
+    @Nullable
+    private byte[] downloadedPng;
+
+    @Override
+    public void setRegisteredId(Identifier id) {
+        registeredId = id;
+    }
+
+    @ModifyVariable(method = "loadTexture(Ljava/io/InputStream;)Lnet/minecraft/client/texture/NativeImage;",
+            at = @At("HEAD"),
+            argsOnly = true)
+    private InputStream onLoadTexture(InputStream stream) {
+        downloadedPng = null;
+
+        // only skins go through remapTexture, so don't hold onto anything else
+        if (!convertLegacy || registeredId == null) {
+            return stream;
+        }
+
+        try {
+            downloadedPng = ByteStreams.toByteArray(stream);
+            return new ByteArrayInputStream(downloadedPng);
+        } catch (IOException e) {
+            MineLittlePony.logger.warn("Unable to read downloaded skin {}", registeredId, e);
+            return new ByteArrayInputStream(new byte[0]);
+        }
+    }
+
+    @Inject(method = "remapTexture(Lnet/minecraft/client/texture/NativeImage;)Lnet/minecraft/client/texture/NativeImage;",
+            at = @At("RETURN"))
+    private void onRemapTexture(NativeImage image, CallbackInfoReturnable<NativeImage> info) {
+        NativeImage remapped = info.getReturnValue();
+
+        // the skin filters have all run by now, so this is exactly what's about to be uploaded
+        // location is only the fallback skin, so skins that were never registered are left to be read back later
+        if (remapped != null && registeredId != null) {
+            ((PonyManager)MineLittlePony.getInstance().getManager()).seedPony(registeredId, downloadedPng, remapped);
+        }
+
+        downloadedPng = null;
+    }
+}
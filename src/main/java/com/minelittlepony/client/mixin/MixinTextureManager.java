@@ -0,0 +1,23 @@
+package com.minelittlepony.client.mixin;
+
+import com.minelittlepony.client.pony.PonyManager;
+
+import net.minecraft.client.texture.AbstractTexture;
+import net.minecraft.client.texture.TextureManager;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(TextureManager.class)
+abstract class MixinTextureManager {
+    @Inject(method = "registerTexture(Lnet/minecraft/util/Identifier;Lnet/minecraft/client/texture/AbstractTexture;)V",
+            at = @At("HEAD"))
+    private void onRegisterTexture(Identifier id, AbstractTexture texture, CallbackInfo info) {
+        // before the texture starts loading, so it knows its id by the time the image is ready
+        if (texture instanceof PonyManager.RegisteredTexture) {
+            ((PonyManager.RegisteredTexture)texture).setRegisteredId(id);
+        }
+    }
+}
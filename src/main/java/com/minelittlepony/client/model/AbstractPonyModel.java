@@ -2,8 +2,11 @@ package com.minelittlepony.client.model;
 
 import com.minelittlepony.client.model.armour.PonyArmourModel;
 import com.minelittlepony.api.pony.meta.Race;
+import com.minelittlepony.client.PonyMetrics;
 import com.minelittlepony.client.model.armour.ArmourWrapper;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
 import com.minelittlepony.client.transform.PonyTransformation;
+import com.minelittlepony.client.util.render.CountingVertexConsumer;
 import com.minelittlepony.model.BodyPart;
 import com.minelittlepony.model.armour.IEquestrianArmour;
 import com.minelittlepony.mson.api.ModelContext;
@@ -12,7 +15,6 @@ import com.minelittlepony.mson.api.model.MsonPart;
 import net.minecraft.client.model.ModelPart;
 import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.client.util.math.Vector3f;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.Arm;
@@ -28,6 +30,8 @@ public abstract class AbstractPonyModel<T extends LivingEntity> extends ClientPo
 
     protected ModelPart neck;
 
+    private final CountingVertexConsumer vertexCounter = new CountingVertexConsumer();
+
     @Override
     public void init(ModelContext context) {
         super.init(context);
@@ -557,17 +561,30 @@ public abstract class AbstractPonyModel<T extends LivingEntity> extends ClientPo
 
     @Override
     public void render(MatrixStack stack, VertexConsumer vertices, int overlayUv, int lightUv, float red, float green, float blue, float alpha) {
+        Detail detail = attributes.detail;
+        boolean counting = PonyMetrics.isShown();
+
+        if (counting) {
+            vertices = vertexCounter.wrap(vertices);
+        }
+
         renderStage(BodyPart.BODY, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderBody);
         renderStage(BodyPart.NECK, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderNeck);
         renderStage(BodyPart.HEAD, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderHead);
         renderStage(BodyPart.LEGS, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderLegs);
 
-        if (textureHeight == 64 && getMetadata().getRace() != Race.SEAPONY) {
-            renderStage(BodyPart.LEGS, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderSleeves);
-            renderStage(BodyPart.BODY, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderVest);
+        if (detail == Detail.FULL) {
+            if (textureHeight == 64 && getMetadata().getRace() != Race.SEAPONY) {
+                renderStage(BodyPart.LEGS, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderSleeves);
+                renderStage(BodyPart.BODY, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderVest);
+            }
+
+            renderStage(BodyPart.HEAD, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderHelmet);
         }
 
-        renderStage(BodyPart.HEAD, stack, vertices, overlayUv, lightUv, red, green, blue, alpha, this::renderHelmet);
+        if (counting) {
+            PonyMetrics.getVerticesDrawn(detail).add(vertexCounter.reset());
+        }
     }
 
     protected void renderStage(BodyPart part, MatrixStack stack, VertexConsumer vertices, int overlayUv, int lightUv, float red, float green, float blue, float alpha, RenderStage action) {
@@ -631,16 +648,7 @@ public abstract class AbstractPonyModel<T extends LivingEntity> extends ClientPo
 
     @Override
     public void transform(BodyPart part, MatrixStack stack) {
-        if (attributes.isSleeping) {
-            stack.multiply(Vector3f.POSITIVE_X.getDegreesQuaternion(90));
-            stack.multiply(Vector3f.POSITIVE_Y.getDegreesQuaternion(180));
-        }
-
-        if (part == BodyPart.HEAD) {
-           stack.multiply(Vector3f.POSITIVE_X.getDegreesQuaternion(attributes.motionPitch));
-        }
-
-        PonyTransformation.forSize(getSize()).transform(this, part, stack);
+        PonyTransformation.transformPart(this, part, stack);
     }
 
     protected interface RenderStage {
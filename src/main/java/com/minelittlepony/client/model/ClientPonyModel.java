@@ -9,10 +9,14 @@ import com.minelittlepony.api.pony.IPony;
 import com.minelittlepony.api.pony.IPonyData;
 import com.minelittlepony.api.pony.meta.Size;
 import com.minelittlepony.client.pony.PonyData;
+import com.minelittlepony.client.pony.PonyHandle;
 import com.minelittlepony.client.render.EquineRenderManager;
 import com.minelittlepony.model.ModelAttributes;
 import com.minelittlepony.mson.api.model.biped.MsonPlayer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The raw pony model without any implementations.
  * Will act effectively the same as a normal player model without any hints
@@ -22,24 +26,111 @@ import com.minelittlepony.mson.api.model.biped.MsonPlayer;
  */
 public abstract class ClientPonyModel<T extends LivingEntity> extends MsonPlayer<T> implements IPonyModel<T> {
 
+    private static final int POSE_STRIDE = 7;
+
     /**
      * The model attributes.
+     *
+     * Each entity keeps its own, which are swapped in whenever the model is updated for it.
      */
     protected ModelAttributes<T> attributes = new ModelAttributes<>();
 
+    /**
+     * The attributes the model was created with, holding the defaults copied to every entity's attributes.
+     */
+    private final ModelAttributes<T> defaultAttributes = attributes;
+
     /**
      * Associated pony data.
      */
     protected IPonyData metadata = PonyData.NULL;
 
+    /**
+     * Every part created for this model.
+     *
+     * Parts register themselves while the super constructor runs, before this class' fields are initialised,
+     * so this is created on demand.
+     */
+    private List<ModelPart> parts;
+
+    @Override
+    public void accept(ModelPart part) {
+        super.accept(part);
+        if (parts == null) {
+            parts = new ArrayList<>();
+        }
+        parts.add(part);
+    }
+
+    /**
+     * Saves the current angles, pivots and visibility of all of the model's parts to the entity.
+     */
+    public void storePose(T entity) {
+        if (parts == null) {
+            return;
+        }
+
+        float[] pose = PonyHandle.of(entity).storePose(this, parts.size() * POSE_STRIDE);
+
+        for (int i = 0; i < parts.size(); i++) {
+            ModelPart part = parts.get(i);
+            int o = i * POSE_STRIDE;
+
+            pose[o]     = part.pitch;
+            pose[o + 1] = part.yaw;
+            pose[o + 2] = part.roll;
+            pose[o + 3] = part.pivotX;
+            pose[o + 4] = part.pivotY;
+            pose[o + 5] = part.pivotZ;
+            pose[o + 6] = part.visible ? 1 : 0;
+        }
+    }
+
+    /**
+     * Puts the model back into the pose last stored for the entity.
+     *
+     * @return false if this model hasn't stored a pose for the entity, in which case it has to be animated as normal.
+     */
+    public boolean restorePose(T entity, float swing) {
+        float[] pose = PonyHandle.of(entity).getPose(this);
+
+        if (parts == null || pose == null || pose.length != parts.size() * POSE_STRIDE) {
+            return false;
+        }
+
+        attributes.checkRainboom(entity, swing, canFly());
+
+        for (int i = 0; i < parts.size(); i++) {
+            ModelPart part = parts.get(i);
+            int o = i * POSE_STRIDE;
+
+            part.pitch  = pose[o];
+            part.yaw    = pose[o + 1];
+            part.roll   = pose[o + 2];
+            part.pivotX = pose[o + 3];
+            part.pivotY = pose[o + 4];
+            part.pivotZ = pose[o + 5];
+            part.visible = pose[o + 6] != 0;
+        }
+
+        return true;
+    }
+
     @Override
     public void updateLivingState(T entity, IPony pony, EquineRenderManager.Mode mode) {
         child = entity.isBaby();
+        attributes = PonyHandle.of(entity).getAttributes(this, this::createAttributes);
         attributes.updateLivingState(entity, pony, mode);
         isSneaking = attributes.isCrouching;
         riding = attributes.isSitting;
     }
 
+    private ModelAttributes<T> createAttributes() {
+        ModelAttributes<T> created = new ModelAttributes<>();
+        created.visualHeight = defaultAttributes.visualHeight;
+        return created;
+    }
+
     @Override
     public void copyAttributes(BipedEntityModel<T> other) {
         setAttributes(other);
@@ -42,6 +42,10 @@ public class ModelWrapper<T extends LivingEntity, M extends IModel> implements I
 
     @Override
     public ModelWrapper<T, M> apply(IPonyData meta) {
+        if (body.getMetadata() == meta) {
+            return this;
+        }
+
         body.apply(meta);
         armor.apply(meta);
         return this;
@@ -1,9 +1,11 @@
 package com.minelittlepony.client.model.armour;
 
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.item.ArmorItem;
+import net.minecraft.item.ArmorMaterial;
 import net.minecraft.item.ItemStack;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
@@ -17,20 +19,47 @@ import javax.annotation.Nullable;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
-public class DefaultArmourTextureResolver<T extends LivingEntity> implements IArmourTextureResolver<T> {
+/**
+ * Finds armour textures by the material's name, preferring pony textures over human ones where a resource pack has them.
+ *
+ * The texture picked for each material, layer and type is kept until resources are reloaded,
+ * so drawing armour only costs a few map lookups.
+ */
+public class DefaultArmourTextureResolver<T extends LivingEntity> implements IArmourTextureResolver<T>, SimpleSynchronousResourceReloadListener {
 
-    private final Map<String, Identifier> HUMAN_ARMOUR = new HashMap<>();
-    private final Map<Identifier, Identifier> PONY_ARMOUR = new HashMap<>();
+    public static final DefaultArmourTextureResolver<LivingEntity> INSTANCE = new DefaultArmourTextureResolver<>();
+
+    private static final Identifier ID = new Identifier("minelittlepony", "armour_textures");
+
+    private final Map<ArmorMaterial, Map<ArmourLayer, Map<String, Identifier>>> textures = new IdentityHashMap<>();
 
     @Override
     public Identifier getArmourTexture(T entity, ItemStack itemstack, EquipmentSlot slot, ArmourLayer layer,  @Nullable String type) {
         type = Strings.nullToEmpty(type);
 
-        ArmorItem item = (ArmorItem) itemstack.getItem();
-        String texture = item.getMaterial().getName();
+        ArmorMaterial material = ((ArmorItem) itemstack.getItem()).getMaterial();
+
+        Map<String, Identifier> types = textures
+                .computeIfAbsent(material, m -> new EnumMap<>(ArmourLayer.class))
+                .computeIfAbsent(layer, l -> new HashMap<>());
+
+        Identifier texture = types.get(type);
+
+        if (texture == null) {
+            texture = findArmourTexture(material, layer, type);
+            types.put(type, texture);
+        }
+
+        return texture;
+    }
+
+    private Identifier findArmourTexture(ArmorMaterial material, ArmourLayer layer, String type) {
+        String texture = material.getName();
 
         String domain = "minecraft";
 
@@ -69,42 +98,38 @@ public class DefaultArmourTextureResolver<T extends LivingEntity> implements IAr
     }
 
     private Identifier ponifyResource(Identifier human) {
-        return PONY_ARMOUR.computeIfAbsent(human, key -> {
-            String domain = key.getNamespace();
-            if ("minecraft".equals(domain)) {
-                domain = "minelittlepony"; // it's a vanilla armor. I provide these.
-            }
+        String domain = human.getNamespace();
+        if ("minecraft".equals(domain)) {
+            domain = "minelittlepony"; // it's a vanilla armor. I provide these.
+        }
 
-            return new Identifier(domain, key.getPath().replace(".png", "_pony.png"));
-        });
+        return new Identifier(domain, human.getPath().replace(".png", "_pony.png"));
     }
 
     private Identifier getArmorTexture(String def, String type) {
-        return HUMAN_ARMOUR.computeIfAbsent(def + "#" + type, s -> {
-            Identifier defId = new Identifier(def);
+        Identifier defId = new Identifier(def);
 
-            if (type.isEmpty() || type.equals(def)) {
-                return defId;
-            }
+        if (type.isEmpty() || type.equals(def)) {
+            return defId;
+        }
 
-            Identifier modId = new Identifier(type);
+        Identifier modId = new Identifier(type);
 
-            Path modPath = Paths.get(modId.getPath()).getParent();
+        Path modPath = Paths.get(modId.getPath()).getParent();
 
-            if (modPath == null) {
-                return defId;
-            }
+        if (modPath == null) {
+            return defId;
+        }
 
-            Path path = modPath.resolve(Paths.get(defId.getPath()).getFileName());
+        Path path = modPath.resolve(Paths.get(defId.getPath()).getFileName());
 
-            Identifier interemId = new Identifier(modId.getNamespace(), path.toString().replace('\\', '/'));
+        Identifier interemId = new Identifier(modId.getNamespace(), path.toString().replace('\\', '/'));
 
-            if (MinecraftClient.getInstance().getResourceManager().containsResource(interemId)) {
-                return interemId;
-            }
+        if (MinecraftClient.getInstance().getResourceManager().containsResource(interemId)) {
+            return interemId;
+        }
 
-            return modId;
-        });
+        return modId;
     }
 
     @Override
@@ -114,4 +139,14 @@ public class DefaultArmourTextureResolver<T extends LivingEntity> implements IAr
         }
         return ArmourVariant.LEGACY;
     }
+
+    @Override
+    public void apply(ResourceManager manager) {
+        textures.clear();
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
 }
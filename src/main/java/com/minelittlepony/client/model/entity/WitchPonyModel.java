@@ -72,4 +72,9 @@ public class WitchPonyModel extends ZebraModel<WitchEntity> {
         }
         return super.isWearing(wearable);
     }
+
+    @Override
+    public int getWearableMask() {
+        return super.getWearableMask() | 1 << Wearable.HAT.ordinal();
+    }
 }
@@ -20,7 +20,7 @@ public class ChristmasHat extends AbstractGear {
 
     private static boolean dayChecked = false;
     private static boolean dayResult = false;
-    private static boolean isChristmasDay() {
+    static boolean isChristmasDay() {
         if (!dayChecked) {
             dayChecked = true;
             Calendar cal = Calendar.getInstance();
@@ -17,6 +17,20 @@ public interface IRenderContext<T extends Entity, M extends IModel> {
         return gear.canRender(model, entity);
     }
 
+    /**
+     * Gets the accessories that may be drawn on an entity as a bitmask, indexed by their ordinals.
+     * Only gear included here is ever checked with {@link #shouldRender}.
+     */
+    default int getWearableMask(M model, T entity) {
+        int mask = model.getWearableMask();
+
+        if (ChristmasHat.isChristmasDay()) {
+            mask |= 1 << Wearable.ANTLERS.ordinal();
+        }
+
+        return mask;
+    }
+
     @Nullable
     default IModel getEntityModel() {
         return null;
@@ -6,6 +6,7 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.MathHelper;
 
 import com.minelittlepony.client.model.AbstractPonyModel;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
 import com.minelittlepony.model.IPart;
 import com.minelittlepony.mson.api.ModelContext;
 import com.minelittlepony.mson.api.MsonModel;
@@ -68,8 +69,6 @@ public class PonyTail implements IPart, MsonModel {
             tail.pivotY += 6;
             tail.pivotZ++;
         }
-
-        tailStop = theModel.getMetadata().getTail().ordinal();
     }
 
     private void swingX(float ticks) {
@@ -90,6 +89,13 @@ public class PonyTail implements IPart, MsonModel {
 
     @Override
     public void renderPart(MatrixStack stack, VertexConsumer vertices, int overlayUv, int lightUv, float red, float green, float blue, float alpha, UUID interpolatorId) {
+        // worked out here rather than with the angles, since those aren't updated every frame for distant ponies
+        tailStop = theModel.getMetadata().getTail().ordinal();
+
+        if (theModel.getAttributes().detail == Detail.MINIMAL) {
+            tailStop = Math.min(tailStop, 1);
+        }
+
         tail.render(stack, vertices, overlayUv, lightUv, red, green, blue, alpha);
     }
 
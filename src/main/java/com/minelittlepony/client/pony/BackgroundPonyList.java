@@ -4,41 +4,227 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 
-import com.minelittlepony.api.pony.IPonyManager;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.minelittlepony.api.pony.IPony;
+import com.minelittlepony.api.pony.IPonyData;
+import com.minelittlepony.api.pony.meta.Race;
+import com.minelittlepony.api.pony.meta.Size;
 import com.minelittlepony.client.MineLittlePony;
-import com.minelittlepony.util.MathUtil;
 
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 
 /**
  * All currently loaded background ponies.
+ *
+ * Built in full while resources are being prepared, with every pony's metadata already parsed,
+ * and swapped in as a whole once the reload is applied.
+ *
+ * Ponies are grouped into pools by their race and size. Each pool divides a fixed number of slots
+ * between its ponies by rendezvous hashing, with every slot going to the pony whose texture scores
+ * highest for it, and a uuid always maps to the same slot. Adding or removing a texture therefore
+ * only moves the uuids in the slots it wins or loses, leaving everyone else with the pony they had.
  */
-class BackgroundPonyList {
+@Immutable
+final class BackgroundPonyList {
+    static final BackgroundPonyList EMPTY = new BackgroundPonyList(ImmutableMap.of());
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final int SLOTS = 1 << 12;
+
+    private static final Race[] RACES = Race.values();
+    private static final Size[] SIZES = Size.REGISTRY;
+
+    /**
+     * All currently loaded background ponies by their texture.
+     */
+    private final Map<Identifier, IPony> backgroundPonyList;
+
+    /**
+     * Slot tables for every combination of race and size, or null for the empty ones.
+     * The first of each row and column matches any race or size.
+     */
+    private final IPony[][] pools = new IPony[(RACES.length + 1) * (SIZES.length + 1)][];
+
+    private BackgroundPonyList(Map<Identifier, IPony> ponies) {
+        backgroundPonyList = ponies;
+
+        @SuppressWarnings("unchecked")
+        List<IPony>[] members = new List[pools.length];
+
+        ponies.values().forEach(pony -> {
+            Race race = pony.getMetadata().getRace();
+            Size size = getRawSize(pony);
+
+            addMember(members, getPool(null, null), pony);
+            addMember(members, getPool(race, null), pony);
+            addMember(members, getPool(null, size), pony);
+            addMember(members, getPool(race, size), pony);
+        });
+
+        for (int i = 0; i < pools.length; i++) {
+            if (members[i] != null) {
+                pools[i] = assignSlots(members[i]);
+            }
+        }
+    }
+
     /**
-     * All currently loaded background ponies.
+     * Pools are only built once per reload, so they go by the size in the skin rather than
+     * the one the size settings currently turn it into.
      */
-    private final List<Identifier> backgroundPonyList = new ArrayList<>();
+    private static Size getRawSize(IPony pony) {
+        IPonyData data = pony.getMetadata();
+
+        return data instanceof PonyData ? ((PonyData)data).getRawSize() : data.getSize();
+    }
+
+    private static void addMember(List<IPony>[] members, int pool, IPony pony) {
+        if (members[pool] == null) {
+            members[pool] = new ArrayList<>();
+        }
+        members[pool].add(pony);
+    }
 
-    public Identifier getId(UUID uuid) {
-        if (backgroundPonyList.isEmpty() || isUser(uuid)) {
-            return IPonyManager.getDefaultSkin(uuid);
+    private static IPony[] assignSlots(List<IPony> members) {
+        long[] keys = new long[members.size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = HASH_FUNCTION.hashString(members.get(i).getTexture().toString(), StandardCharsets.UTF_8).asLong();
         }
 
-        int bgi = MathUtil.mod(uuid.hashCode(), backgroundPonyList.size());
+        IPony[] slots = new IPony[SLOTS];
+
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long seed = HashCommon.mix((long)slot + 1);
+            long best = Long.MIN_VALUE;
+
+            for (int i = 0; i < keys.length; i++) {
+                long score = HashCommon.mix(keys[i] ^ seed);
+
+                if (slots[slot] == null || score > best) {
+                    best = score;
+                    slots[slot] = members.get(i);
+                }
+            }
+        }
 
-        return backgroundPonyList.get(bgi);
+        return slots;
     }
 
-    public void reloadAll(ResourceManager resourceManager) {
-        backgroundPonyList.clear();
-        backgroundPonyList.addAll(resourceManager.findResources("textures/entity/pony", path -> path.endsWith(".png")));
-        MineLittlePony.logger.info("Detected {} background ponies installed.", backgroundPonyList.size());
+    private static int getPool(@Nullable Race race, @Nullable Size size) {
+        return (race == null ? 0 : race.ordinal() + 1) * (SIZES.length + 1) + (size == null ? 0 : size.ordinal() + 1);
+    }
+
+    /**
+     * Gets the background pony assigned to the given uuid.
+     *
+     * @return The pony, or null if the default skin should be used instead.
+     */
+    @Nullable
+    public IPony getPony(UUID uuid) {
+        return getPony(uuid, null, null);
+    }
+
+    /**
+     * Gets the background pony assigned to the given uuid from amongst those matching the given race and size.
+     *
+     * @param race The race to pick from, or null for any race.
+     * @param size The size to pick from, as read from the skin before the size settings are applied, or null for any size.
+     *
+     * @return The pony, or null if there are no matching ponies or the default skin should be used instead.
+     */
+    @Nullable
+    public IPony getPony(UUID uuid, @Nullable Race race, @Nullable Size size) {
+        IPony[] slots = pools[getPool(race, size)];
+
+        if (slots == null || isUser(uuid)) {
+            return null;
+        }
+
+        return slots[(int)HashCommon.mix(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits()) & (SLOTS - 1)];
+    }
+
+    public Collection<IPony> getPonies() {
+        return backgroundPonyList.values();
+    }
+
+    public int size() {
+        return backgroundPonyList.size();
     }
 
     private boolean isUser(UUID uuid) {
-        return MinecraftClient.getInstance().player != null
-            && MinecraftClient.getInstance().player.getUuid().equals(uuid);
+        MinecraftClient client = MinecraftClient.getInstance();
+
+        return client != null
+            && client.player != null
+            && client.player.getUuid().equals(uuid);
+    }
+
+    /**
+     * Finds and parses every background pony provided by the given resource manager.
+     * Each texture is read as its own task on the executor.
+     *
+     * Ponies whose texture and metadata haven't changed since the previous list are carried over as-is.
+     */
+    public static CompletableFuture<BackgroundPonyList> load(ResourceManager manager, PonyDataLoader loader, Executor executor, BackgroundPonyList previous) {
+        return CompletableFuture.supplyAsync(() -> manager.findResources("textures/entity/pony", path -> path.endsWith(".png")), executor)
+                .thenCompose(ids -> {
+                    List<CompletableFuture<IPony>> ponies = ids.stream()
+                            .map(id -> CompletableFuture.supplyAsync(() -> loadPony(manager, loader, id, previous), executor))
+                            .collect(Collectors.toList());
+
+                    return CompletableFuture.allOf(ponies.toArray(new CompletableFuture<?>[ponies.size()]))
+                            .thenApply(v -> collect(ponies));
+                });
+    }
+
+    @Nullable
+    private static IPony loadPony(ResourceManager manager, PonyDataLoader loader, Identifier id, BackgroundPonyList previous) {
+        IPonyData data = loader.loadResource(manager, id);
+
+        if (data == null) {
+            MineLittlePony.logger.warn("Background pony {} could not be read. It will be skipped.", id);
+            return null;
+        }
+
+        IPony existing = previous.backgroundPonyList.get(id);
+
+        if (existing != null && existing.getMetadata().equals(data)) {
+            return existing;
+        }
+
+        return new Pony(id, data);
+    }
+
+    private static BackgroundPonyList collect(Collection<CompletableFuture<IPony>> futures) {
+        ImmutableMap.Builder<Identifier, IPony> ponies = ImmutableMap.builder();
+
+        futures.forEach(future -> {
+            IPony pony = future.join();
+
+            if (pony != null) {
+                ponies.put(pony.getTexture(), pony);
+            }
+        });
+
+        BackgroundPonyList list = new BackgroundPonyList(ponies.build());
+        MineLittlePony.logger.info("Detected {} background ponies installed.", list.size());
+        return list;
     }
 }
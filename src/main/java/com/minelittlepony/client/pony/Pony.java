@@ -32,13 +32,26 @@ public class Pony implements IPony {
 
     private boolean initialized = false;
 
+    private volatile boolean replaced = false;
+
     Pony(Identifier resource, IPonyData data) {
         texture = resource;
         metadata = data;
     }
 
-    Pony(Identifier resource) {
-        this(resource, PonyData.parse(resource));
+    /**
+     * Marks this pony as no longer being the one cached for its texture.
+     */
+    void markReplaced() {
+        replaced = true;
+    }
+
+    /**
+     * Checks whether this pony's texture was seeded or removed since it was loaded,
+     * so anything holding onto it should look it up again.
+     */
+    boolean isReplaced() {
+        return replaced;
     }
 
     @Override
@@ -3,10 +3,14 @@ package com.minelittlepony.client.pony;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.texture.NativeImage;
 import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 
 import com.google.common.base.MoreObjects;
-import com.google.gson.annotations.Expose;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.hash.HashCode;
+import com.google.common.io.ByteStreams;
 import com.minelittlepony.api.pony.IPonyData;
 import com.minelittlepony.api.pony.meta.Gender;
 import com.minelittlepony.api.pony.meta.Race;
@@ -16,10 +20,13 @@ import com.minelittlepony.api.pony.meta.TriggerPixels;
 import com.minelittlepony.api.pony.meta.Wearable;
 import com.minelittlepony.client.MineLittlePony;
 import com.minelittlepony.client.util.render.NativeUtil;
+import com.minelittlepony.client.util.render.PngRegionDecoder;
 import com.minelittlepony.common.util.animation.Interpolator;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import javax.annotation.Nullable;
@@ -28,13 +35,30 @@ import javax.annotation.concurrent.Immutable;
 /**
  * Implementation for IPonyData.
  *
+ * Every value except the glow colour is packed into the bits of a single long,
+ * and instances are interned so equal metadata is always the same object.
  */
 @Immutable
 public class PonyData implements IPonyData {
 
     private static final PonyDataSerialiser SERIALISER = new PonyDataSerialiser();
 
-    public static final IPonyData NULL = new PonyData(Race.HUMAN);
+    private static final Interner<PonyData> INTERNER = Interners.newWeakInterner();
+
+    private static final Race[] RACES = Race.values();
+    private static final TailLength[] TAILS = TailLength.values();
+    private static final Gender[] GENDERS = Gender.values();
+    private static final Size[] SIZES = Size.values();
+
+    private static final int RACE_SHIFT = 0;
+    private static final int TAIL_SHIFT = 8;
+    private static final int GENDER_SHIFT = 16;
+    private static final int SIZE_SHIFT = 24;
+    private static final int WEARABLES_SHIFT = 32;
+
+    private static final long FIELD_MASK = 0xFF;
+
+    public static final IPonyData NULL = of(Race.HUMAN);
 
     /**
      * Parses the given resource into a new IPonyData.
@@ -45,82 +69,254 @@ public class PonyData implements IPonyData {
             return NULL;
         }
 
-        try (Resource res = MinecraftClient.getInstance().getResourceManager().getResource(identifier)) {
+        IPonyData data = parseResource(MinecraftClient.getInstance().getResourceManager(), identifier, PonyDataCache.NONE);
+
+        if (data != null) {
+            return data;
+        }
+
+        return parseTexture(identifier);
+    }
+
+    /**
+     * Parses pony data from the resource's attached json file or its raw png data, as provided by the given resource manager.
+     * This does not touch the gl context and is safe to call from any thread.
+     *
+     * Results read from the png are looked up in, and stored to, the given cache by the hash of the file's contents.
+     *
+     * @return The parsed data, or null if the identifier does not point to a readable resource.
+     */
+    @Nullable
+    static IPonyData parseResource(ResourceManager manager, Identifier identifier, PonyDataCache cache) {
+        try (Resource res = manager.getResource(identifier)) {
             PonyData data = res.getMetadata(SERIALISER);
 
             if (data != null) {
                 return data;
             }
+
+            byte[] bytes = ByteStreams.toByteArray(res.getInputStream());
+            HashCode hash = PonyDataCache.hash(bytes);
+
+            data = cache.get(hash);
+
+            if (data == null) {
+                int[] region = new int[TriggerPixels.REGION_WIDTH * TriggerPixels.REGION_HEIGHT];
+
+                if (decodeRegion(bytes, region)) {
+                    data = fromRegion(region);
+                } else {
+                    try (NativeImage image = NativeImage.read(new ByteArrayInputStream(bytes))) {
+                        data = fromImage(image);
+                    }
+                }
+
+                data = cache.put(hash, data);
+            }
+
+            return data;
         } catch (FileNotFoundException e) {
             // Ignore uploaded texture
         } catch (IOException e) {
             MineLittlePony.logger.warn("Unable to read {} metadata", identifier, e);
         }
 
+        return null;
+    }
+
+    /**
+     * Reads the trigger pixels straight out of a png file.
+     *
+     * @return false if the png has to be fully decoded instead, which includes files the region decoder can't make sense of.
+     */
+    private static boolean decodeRegion(byte[] png, int[] region) throws IOException {
         try {
-            return NativeUtil.parseImage(identifier, PonyData::new);
+            return PngRegionDecoder.decode(png, TriggerPixels.REGION_WIDTH, TriggerPixels.REGION_HEIGHT, region);
+        } catch (RuntimeException e) {
+            MineLittlePony.logger.debug("Falling back to a full decode for a png the region decoder couldn't read", e);
+            return false;
+        }
+    }
+
+    /**
+     * Parses pony data from a downloaded skin that has already been decoded.
+     *
+     * Results are looked up in, and stored to, the given cache by the hash of the downloaded file's contents,
+     * the same as for resources, so a skin seen before never has its pixels read again.
+     */
+    static PonyData parseDownload(byte[] png, NativeImage image, PonyDataCache cache) {
+        HashCode hash = PonyDataCache.hash(png);
+        PonyData data = cache.get(hash);
+
+        if (data == null) {
+            data = cache.put(hash, fromImage(image));
+        }
+
+        return data;
+    }
+
+    /**
+     * Parses pony data by reading back the uploaded texture.
+     * Used for textures that don't exist as a resource, such as downloaded skins.
+     *
+     * Must be called from the main thread.
+     */
+    static IPonyData parseTexture(Identifier identifier) {
+        try {
+            int[] region = new int[TriggerPixels.REGION_WIDTH * TriggerPixels.REGION_HEIGHT];
+
+            if (NativeUtil.readRegion(identifier, TriggerPixels.REGION_WIDTH, TriggerPixels.REGION_HEIGHT, region)) {
+                return fromRegion(region);
+            }
+
+            return NativeUtil.parseImage(identifier, PonyData::fromImage);
         } catch (IllegalStateException e) {
             MineLittlePony.logger.fatal("Unable to read {} metadata", identifier, e);
             return NULL;
         }
     }
 
-    @Expose
-    private final Race race;
+    /**
+     * Gets the canonical pony data for a pony of the given race with default values for everything else.
+     */
+    public static PonyData of(Race race) {
+        return INTERNER.intern(new PonyData(race));
+    }
 
-    @Expose
-    private final TailLength tailSize;
+    /**
+     * Gets the canonical pony data for the given values.
+     *
+     * @param wearables Bitmask of the worn accessories, indexed by their ordinals.
+     */
+    public static PonyData of(Race race, TailLength tailSize, Gender gender, Size size, int glowColor, int wearables) {
+        return of(pack(race, tailSize, gender, size, wearables), glowColor);
+    }
 
-    @Expose
-    private final Gender gender;
+    private static long pack(Race race, TailLength tailSize, Gender gender, Size size, int wearables) {
+        return (long)race.ordinal() << RACE_SHIFT
+                | (long)tailSize.ordinal() << TAIL_SHIFT
+                | (long)gender.ordinal() << GENDER_SHIFT
+                | (long)size.ordinal() << SIZE_SHIFT
+                | (wearables & 0xFFFFFFFFL) << WEARABLES_SHIFT;
+    }
 
-    @Expose
-    private final Size size;
+    private static PonyData of(long packed, int glowColor) {
+        return INTERNER.intern(new PonyData(packed, glowColor));
+    }
 
-    @Expose
-    private final int glowColor;
+    /**
+     * Creates pony data from the trigger pixels of a skin image.
+     */
+    static PonyData fromImage(NativeImage image) {
+        return of(
+                TriggerPixels.RACE.readValue(image),
+                TriggerPixels.TAIL.readValue(image),
+                TriggerPixels.GENDER.readValue(image),
+                TriggerPixels.SIZE.readValue(image),
+                TriggerPixels.GLOW.readColor(image),
+                getWearableBits(TriggerPixels.WEARABLES.readFlags(image))
+        );
+    }
+
+    /**
+     * Creates pony data from the pixels of a skin's trigger pixel region.
+     */
+    static PonyData fromRegion(int[] region) {
+        return of(
+                TriggerPixels.RACE.readValue(region),
+                TriggerPixels.TAIL.readValue(region),
+                TriggerPixels.GENDER.readValue(region),
+                TriggerPixels.SIZE.readValue(region),
+                TriggerPixels.GLOW.readColor(region),
+                getWearableBits(TriggerPixels.WEARABLES.readFlags(region))
+        );
+    }
+
+    /**
+     * Converts an array of flags indexed by ordinal into a bitmask.
+     */
+    static int getWearableBits(boolean[] flags) {
+        int bits = 0;
+
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                bits |= 1 << i;
+            }
+        }
 
-    @Expose
-    private final boolean[] wearables;
+        return bits;
+    }
 
+    /**
+     * Race, tail, gender and size ordinals in the lower four bytes, worn accessories in the upper four.
+     */
+    private final long packed;
+
+    private final int glowColor;
+
+    /**
+     * Creates pony data for a pony of the given race with default values for everything else.
+     *
+     * Prefer {@link #of(Race)}, which returns a shared instance.
+     */
     public PonyData(Race race) {
-        this.race = race;
-        tailSize = TailLength.FULL;
-        gender = Gender.MARE;
-        size = Size.NORMAL;
-        glowColor = 0x4444aa;
+        this(pack(race, TailLength.FULL, Gender.MARE, Size.NORMAL, 0), 0x4444aa);
+    }
+
+    private PonyData(long packed, int glowColor) {
+        this.packed = packed;
+        this.glowColor = glowColor;
+    }
 
-        wearables = new boolean[Wearable.values().length];
+    /**
+     * Writes the raw values of this pony data to twelve bytes of the given buffer.
+     */
+    void write(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, packed);
+        buffer.putInt(offset + 8, glowColor);
     }
 
-    private PonyData(NativeImage image) {
-        race = TriggerPixels.RACE.readValue(image);
-        tailSize = TriggerPixels.TAIL.readValue(image);
-        size = TriggerPixels.SIZE.readValue(image);
-        gender = TriggerPixels.GENDER.readValue(image);
-        glowColor = TriggerPixels.GLOW.readColor(image);
+    /**
+     * Reads pony data previously written with {@link #write(ByteBuffer, int)}.
+     */
+    static PonyData read(ByteBuffer buffer, int offset) {
+        return of(buffer.getLong(offset), buffer.getInt(offset + 8));
+    }
+
+    private int getField(int shift) {
+        return (int)((packed >>> shift) & FIELD_MASK);
+    }
 
-        wearables = TriggerPixels.WEARABLES.readFlags(image);
+    @Override
+    public int getWearableMask() {
+        return (int)(packed >>> WEARABLES_SHIFT);
     }
 
     @Override
     public Race getRace() {
-        return race;
+        return RACES[getField(RACE_SHIFT)];
     }
 
     @Override
     public TailLength getTail() {
-        return tailSize;
+        return TAILS[getField(TAIL_SHIFT)];
     }
 
     @Override
     public Gender getGender() {
-        return gender;
+        return GENDERS[getField(GENDER_SHIFT)];
     }
 
     @Override
     public Size getSize() {
-        return size.getEffectiveSize();
+        return getRawSize().getEffectiveSize();
+    }
+
+    /**
+     * Gets the size as read from the skin, before the size settings are applied.
+     */
+    public Size getRawSize() {
+        return SIZES[getField(SIZE_SHIFT)];
     }
 
     @Override
@@ -130,7 +326,7 @@ public class PonyData implements IPonyData {
 
     @Override
     public boolean hasHorn() {
-        return getRace() != null && getRace().getEffectiveRace(false).hasHorn();
+        return getRace().getEffectiveRace(false).hasHorn();
     }
 
     @Override
@@ -140,7 +336,7 @@ public class PonyData implements IPonyData {
 
     @Override
     public boolean isWearing(Wearable wearable) {
-        return wearables[wearable.ordinal()];
+        return (getWearableMask() & (1 << wearable.ordinal())) != 0;
     }
 
     @Override
@@ -148,14 +344,26 @@ public class PonyData implements IPonyData {
         return Interpolator.linear(interpolatorId);
     }
 
+    @Override
+    public boolean equals(Object other) {
+        return other == this || (other instanceof PonyData
+                && ((PonyData)other).packed == packed
+                && ((PonyData)other).glowColor == glowColor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(packed) + glowColor;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("race", race)
-                .add("tailSize", tailSize)
-                .add("gender", gender)
-                .add("size", size)
-                .add("wearables", Wearable.flags(wearables))
+                .add("race", getRace())
+                .add("tailSize", getTail())
+                .add("gender", getGender())
+                .add("size", getRawSize())
+                .add("wearables", Wearable.flags(getWearableMask()))
                 .add("glowColor", "#" + Integer.toHexString(glowColor))
                 .toString();
     }
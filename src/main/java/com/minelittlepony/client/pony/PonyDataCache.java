@@ -0,0 +1,231 @@
+package com.minelittlepony.client.pony;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.minelittlepony.api.pony.meta.TriggerPixels;
+import com.minelittlepony.client.MineLittlePony;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Persistent store of pony data parsed from skins, keyed by a hash of the skin's contents.
+ *
+ * Covers skins read from resources as well as downloaded ones (Mojang and HD Skins), keyed by the file as it was downloaded.
+ * A skin whose contents have been seen before, under any identifier, is never analysed again for as long as its entry
+ * is held here or in the file. Equal metadata being the same instance is down to {@link PonyData}'s interner, not this cache.
+ *
+ * Entries are kept in a fixed-size memory-mapped table of open-addressed slots, so a lookup
+ * is only a handful of reads from the mapped file. When every slot a key may occupy is taken,
+ * the least recently used one is replaced, bounding the file to {@link #CAPACITY} entries.
+ *
+ * The whole table is discarded whenever the trigger pixel layout changes.
+ */
+public class PonyDataCache {
+    /**
+     * A cache that doesn't persist anything to disk.
+     */
+    public static final PonyDataCache NONE = new PonyDataCache();
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final int MAGIC = 0x4D4C5043;
+    private static final int VERSION = 2;
+
+    private static final int CAPACITY = 1 << 13;
+    private static final int PROBE_LIMIT = 16;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 32;
+
+    private static final int KEY_HIGH = 0;
+    private static final int KEY_LOW = 8;
+    private static final int STAMP = 16;
+    private static final int DATA = 20;
+
+    private final Map<HashCode, PonyData> shared = CacheBuilder.newBuilder()
+            .weakValues()
+            .<HashCode, PonyData>build()
+            .asMap();
+
+    @Nullable
+    private final ByteBuffer table;
+
+    private int clock;
+
+    private PonyDataCache() {
+        table = null;
+    }
+
+    public PonyDataCache(Path file) {
+        table = open(file);
+
+        if (table != null) {
+            clock = table.getInt(12);
+        }
+    }
+
+    /**
+     * Hashes the contents of a skin to get its key in this cache.
+     */
+    public static HashCode hash(byte[] content) {
+        return HASH_FUNCTION.hashBytes(content);
+    }
+
+    @Nullable
+    private static ByteBuffer open(Path file) {
+        long size = HEADER_SIZE + (long)CAPACITY * SLOT_SIZE;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean resized = channel.size() != size;
+
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            if (resized
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != TriggerPixels.getLayoutHash()) {
+                MineLittlePony.logger.info("Pony metadata cache is missing or out of date. Starting a new one.");
+
+                for (int i = 0; i < size; i += 8) {
+                    buffer.putLong(i, 0);
+                }
+
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, TriggerPixels.getLayoutHash());
+            }
+
+            return buffer;
+        } catch (IOException e) {
+            MineLittlePony.logger.warn("Unable to open pony metadata cache {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the stored pony data for the skin with the given content hash.
+     *
+     * @return The data, or null if the skin hasn't been seen before.
+     */
+    @Nullable
+    public PonyData get(HashCode hash) {
+        PonyData data = shared.get(hash);
+
+        if (data == null) {
+            data = read(hash);
+
+            if (data != null) {
+                data = share(hash, data);
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Stores pony data for the skin with the given content hash.
+     *
+     * @return The instance to use for the skin. Either the given data or an identical one stored before it.
+     */
+    public PonyData put(HashCode hash, PonyData data) {
+        data = share(hash, data);
+        write(hash, data);
+        return data;
+    }
+
+    private PonyData share(HashCode hash, PonyData data) {
+        PonyData existing = shared.putIfAbsent(hash, data);
+        return existing == null ? data : existing;
+    }
+
+    @Nullable
+    private synchronized PonyData read(HashCode hash) {
+        if (table == null) {
+            return null;
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(hash.asBytes());
+        long high = key.getLong(0);
+        long low = key.getLong(8);
+
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = getSlot(low, i);
+            long slotHigh = table.getLong(slot + KEY_HIGH);
+            long slotLow = table.getLong(slot + KEY_LOW);
+
+            if (slotHigh == 0 && slotLow == 0) {
+                return null;
+            }
+
+            if (slotHigh == high && slotLow == low) {
+                table.putInt(slot + STAMP, tick());
+                return PonyData.read(table, slot + DATA);
+            }
+        }
+
+        return null;
+    }
+
+    private synchronized void write(HashCode hash, PonyData data) {
+        if (table == null) {
+            return;
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(hash.asBytes());
+        long high = key.getLong(0);
+        long low = key.getLong(8);
+
+        if (high == 0 && low == 0) {
+            return; // reserved for empty slots
+        }
+
+        // replaces the least recently used entry in this key's probe window if they're all taken
+        int target = -1;
+        int oldest = Integer.MAX_VALUE;
+
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = getSlot(low, i);
+            long slotHigh = table.getLong(slot + KEY_HIGH);
+            long slotLow = table.getLong(slot + KEY_LOW);
+
+            if ((slotHigh == 0 && slotLow == 0) || (slotHigh == high && slotLow == low)) {
+                target = slot;
+                break;
+            }
+
+            int stamp = table.getInt(slot + STAMP);
+            if (stamp < oldest) {
+                oldest = stamp;
+                target = slot;
+            }
+        }
+
+        table.putLong(target + KEY_HIGH, high);
+        table.putLong(target + KEY_LOW, low);
+        table.putInt(target + STAMP, tick());
+        data.write(table, target + DATA);
+    }
+
+    private int getSlot(long key, int probe) {
+        return HEADER_SIZE + (((int)key + probe) & (CAPACITY - 1)) * SLOT_SIZE;
+    }
+
+    private int tick() {
+        table.putInt(12, ++clock);
+        return clock;
+    }
+}
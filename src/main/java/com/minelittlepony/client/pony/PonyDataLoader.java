@@ -0,0 +1,115 @@
+package com.minelittlepony.client.pony;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+
+import com.minelittlepony.api.pony.IPonyData;
+import com.minelittlepony.client.MineLittlePony;
+import com.minelittlepony.client.PonyMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Asynchronous pipeline for reading pony metadata.
+ *
+ * Skins are decoded from their raw png data on a worker thread. Downloaded skins
+ * are read while they are being decoded on the download thread, and seeded into
+ * the pony manager from there (see {@link PonyManager#seedPony(Identifier, byte[], NativeImage)}).
+ * Only textures that are neither, such as skins downloaded before the pony cache was last cleared,
+ * fall back to reading the pixels back from the gpu, which has to be deferred to the main thread.
+ */
+public class PonyDataLoader {
+
+    private final PonyDataCache cache;
+
+    public PonyDataLoader(PonyDataCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Starts loading the metadata for the given texture.
+     * The returned future always completes normally, defaulting to {@link PonyData#NULL}.
+     *
+     * @param abandoned Checked before every step. Once it returns true the remaining steps are skipped and the future completes with null.
+     */
+    public CompletableFuture<IPonyData> load(@Nullable Identifier identifier, BooleanSupplier abandoned) {
+        if (identifier == null) {
+            return CompletableFuture.completedFuture(PonyData.NULL);
+        }
+
+        // Taken here so the worker never has to reach into the client for it.
+        // Anything read while a reload is swapping packs is thrown away once the reload is applied.
+        ResourceManager manager = MinecraftClient.getInstance().getResourceManager();
+
+        return CompletableFuture.supplyAsync(() -> abandoned.getAsBoolean() ? null : loadResource(manager, identifier), Util.getServerWorkerExecutor())
+                .thenCompose(data -> {
+                    if (data != null || abandoned.getAsBoolean()) {
+                        return CompletableFuture.completedFuture(data);
+                    }
+
+                    return CompletableFuture.supplyAsync(() -> abandoned.getAsBoolean() ? null : parseTexture(identifier), MinecraftClient.getInstance());
+                })
+                .exceptionally(e -> {
+                    MineLittlePony.logger.error("Unable to read {} metadata", identifier, e);
+                    return PonyData.NULL;
+                });
+    }
+
+    /**
+     * Loads the metadata for the given texture on the calling thread.
+     *
+     * Must be called from the main thread if the texture may not be backed by a resource.
+     */
+    public IPonyData loadNow(@Nullable Identifier identifier) {
+        if (identifier == null) {
+            return PonyData.NULL;
+        }
+
+        IPonyData data = loadResource(MinecraftClient.getInstance().getResourceManager(), identifier);
+
+        if (data != null) {
+            return data;
+        }
+
+        return parseTexture(identifier);
+    }
+
+    /**
+     * Reads the metadata for a downloaded skin from its decoded image on the calling thread.
+     *
+     * @param png The downloaded file, used to look the skin up in the persistent cache. May be null if it wasn't captured.
+     */
+    public IPonyData loadDownload(@Nullable byte[] png, NativeImage image) {
+        long start = System.nanoTime();
+        IPonyData data = png == null ? PonyData.fromImage(image) : PonyData.parseDownload(png, image, cache);
+        PonyMetrics.METADATA_PARSES.record(System.nanoTime() - start);
+        return data;
+    }
+
+    private IPonyData parseTexture(Identifier identifier) {
+        long start = System.nanoTime();
+        IPonyData data = PonyData.parseTexture(identifier);
+        PonyMetrics.METADATA_PARSES.record(System.nanoTime() - start);
+        return data;
+    }
+
+    /**
+     * Reads the metadata for a texture from the given resource manager on the calling thread.
+     * Never touches the gl context, so it's safe to call from anywhere, including during a resource reload.
+     *
+     * @return The data, or null if the texture isn't a readable resource.
+     */
+    @Nullable
+    public IPonyData loadResource(ResourceManager manager, Identifier identifier) {
+        long start = System.nanoTime();
+        IPonyData data = PonyData.parseResource(manager, identifier, cache);
+        PonyMetrics.METADATA_PARSES.record(System.nanoTime() - start);
+        return data;
+    }
+}
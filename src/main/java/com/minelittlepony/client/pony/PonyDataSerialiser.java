@@ -3,6 +3,11 @@ package com.minelittlepony.client.pony;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import com.google.gson.annotations.Expose;
+import com.minelittlepony.api.pony.meta.Gender;
+import com.minelittlepony.api.pony.meta.Race;
+import com.minelittlepony.api.pony.meta.Size;
+import com.minelittlepony.api.pony.meta.TailLength;
 
 import net.minecraft.resource.metadata.ResourceMetadataReader;
 
@@ -19,7 +24,38 @@ class PonyDataSerialiser implements ResourceMetadataReader<PonyData> {
 
     @Override
     public PonyData fromJson(JsonObject json) {
-        return gson.fromJson(json, PonyData.class);
+        return gson.fromJson(json, Fields.class).toData();
     }
-}
 
+    /**
+     * The json form of pony data. Anything left out takes the same default as an unset trigger pixel.
+     */
+    static class Fields {
+        @Expose
+        Race race = Race.HUMAN;
+
+        @Expose
+        TailLength tailSize = TailLength.FULL;
+
+        @Expose
+        Gender gender = Gender.MARE;
+
+        @Expose
+        Size size = Size.NORMAL;
+
+        @Expose
+        int glowColor;
+
+        @Expose
+        boolean[] wearables = new boolean[0];
+
+        PonyData toData() {
+            return PonyData.of(
+                    race == null ? Race.HUMAN : race,
+                    tailSize == null ? TailLength.FULL : tailSize,
+                    gender == null ? Gender.MARE : gender,
+                    size == null ? Size.NORMAL : size,
+                    glowColor, wearables == null ? 0 : PonyData.getWearableBits(wearables));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.minelittlepony.client.pony;
+
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import com.minelittlepony.api.pony.IPony;
+import com.minelittlepony.model.ModelAttributes;
+
+import javax.annotation.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * The pony last resolved for an entity, stored directly on the entity.
+ *
+ * It stays valid for as long as the entity keeps the same skin, the pony loaded for
+ * that skin isn't replaced, and the pony manager's generation doesn't change,
+ * so repeated lookups for an entity only cost a few field reads.
+ *
+ * Also keeps the entity's culling box between frames, its model attributes, and its last computed pose.
+ */
+public final class PonyHandle {
+
+    @Nullable
+    private IPony pony;
+
+    @Nullable
+    private Pony source;
+
+    @Nullable
+    private Identifier skin;
+
+    private int generation = -1;
+
+    @Nullable
+    private Box localBox;
+
+    @Nullable
+    private IPony boxPony;
+
+    @Nullable
+    private EntityPose boxPose;
+
+    private float boxScale;
+    private float boxWidth;
+    private float boxHeight;
+
+    @Nullable
+    private Object attributesModel;
+
+    @Nullable
+    private ModelAttributes<?> attributes;
+
+    @Nullable
+    private Object poseModel;
+
+    @Nullable
+    private float[] pose;
+
+    /**
+     * Gets the handle attached to an entity.
+     */
+    public static PonyHandle of(LivingEntity entity) {
+        return ((Holder)entity).getPonyHandle();
+    }
+
+    /**
+     * Gets the stored pony if it was resolved for the same skin and generation,
+     * and the pony it was resolved from is still the one cached for that skin.
+     *
+     * @return The pony, or null if it needs to be resolved again.
+     */
+    @Nullable
+    public IPony get(@Nullable Identifier skin, int generation) {
+        if (this.generation != generation
+                || (source != null && source.isReplaced())
+                || (this.skin != skin && (this.skin == null || !this.skin.equals(skin)))) {
+            return null;
+        }
+
+        return pony;
+    }
+
+    /**
+     * Stores the pony resolved for the given skin and generation.
+     *
+     * @param source The pony loaded for the skin that this one was resolved from, if any.
+     */
+    public IPony set(@Nullable Identifier skin, int generation, @Nullable IPony source, IPony pony) {
+        this.source = source instanceof Pony ? (Pony)source : null;
+        this.skin = skin;
+        this.generation = generation;
+        this.pony = pony;
+
+        return pony;
+    }
+
+    /**
+     * Gets the bounding box used to cull the entity, positioned for the current frame.
+     *
+     * The box is stored relative to the entity's own position and only worked out again when the pony, its size,
+     * or the entity's pose and dimensions change. Where the entity is, including wherever it sits on whatever it's riding,
+     * is added back every frame.
+     */
+    public Box getBoundingBox(LivingEntity entity, IPony pony) {
+        float scale = pony.getMetadata().getSize().getScaleFactor();
+        Vec3d pos = pony.getAbsoluteRidingOffset(entity);
+
+        if (localBox == null
+                || boxPony != pony
+                || boxPose != entity.getPose()
+                || boxScale != scale
+                || boxWidth != entity.getWidth()
+                || boxHeight != entity.getHeight()
+                || boxVehicleHeight != vehicleHeight) {
+            boxPony = pony;
+            boxPose = entity.getPose();
+            boxScale = scale;
+            boxWidth = entity.getWidth();
+            boxHeight = entity.getHeight();
+            localBox = pony.getComputedBoundingBox(entity).offset(-pos.x, -pos.y, -pos.z);
+        }
+
+        return localBox.offset(pos);
+    }
+
+    /**
+     * Gets the attributes the given model works out for this entity,
+     * creating new ones if the entity was last drawn with a different model.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends LivingEntity> ModelAttributes<T> getAttributes(Object model, Supplier<ModelAttributes<T>> factory) {
+        if (attributes == null || attributesModel != model) {
+            attributes = factory.get();
+            attributesModel = model;
+        }
+        return (ModelAttributes<T>)attributes;
+    }
+
+    /**
+     * Gets the pose last stored for the entity by the given model.
+     *
+     * @return The pose, or null if the model hasn't stored one.
+     */
+    @Nullable
+    public float[] getPose(Object model) {
+        return poseModel == model ? pose : null;
+    }
+
+    /**
+     * Gets an array to store the entity's pose in for the given model, replacing whatever was stored before.
+     */
+    public float[] storePose(Object model, int length) {
+        if (pose == null || pose.length != length) {
+            pose = new float[length];
+        }
+        poseModel = model;
+        return pose;
+    }
+
+    /**
+     * Implemented by all living entities through a mixin.
+     */
+    public interface Holder {
+        PonyHandle getPonyHandle();
+    }
+}
@@ -1,28 +1,40 @@
 package com.minelittlepony.client.pony;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableMap;
 import com.minelittlepony.api.pony.IPony;
+import com.minelittlepony.api.pony.IPonyData;
 import com.minelittlepony.api.pony.IPonyManager;
+import com.minelittlepony.api.pony.meta.Race;
 import com.minelittlepony.client.MineLittlePony;
+import com.minelittlepony.client.PonyMetrics;
 import com.minelittlepony.settings.PonyConfig;
 import com.minelittlepony.settings.PonyLevel;
 import javax.annotation.Nullable;
 
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
+import net.minecraft.client.texture.NativeImage;
 import net.minecraft.client.util.DefaultSkinHelper;
 import net.minecraft.resource.ResourceManager;
+import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The PonyManager is responsible for reading and recoding all the pony data associated with an entity of skin.
@@ -32,27 +44,173 @@ public class PonyManager implements IPonyManager, IdentifiableResourceReloadList
 
     private static final Identifier ID = new Identifier("minelittlepony", "background_ponies");
 
-    private final BackgroundPonyList backgroundPonyList = new BackgroundPonyList();
+    /**
+     * Skins used in place of others, read in full whenever resources are reloaded.
+     */
+    private static final Identifier[] DEFAULT_SKINS = {
+            IPonyManager.STEVE,
+            IPonyManager.ALEX,
+            new Identifier("textures/entity/steve.png"),
+            new Identifier("textures/entity/alex.png")
+    };
+
+    private volatile BackgroundPonyList backgroundPonyList = BackgroundPonyList.EMPTY;
+
+    private volatile Map<Identifier, IPony> defaultPonies = ImmutableMap.of();
 
     private final PonyConfig config;
 
-    private final LoadingCache<Identifier, IPony> poniesCache = CacheBuilder.newBuilder()
-            .expireAfterAccess(30, TimeUnit.SECONDS)
-            .build(CacheLoader.from(Pony::new));
+    private final PonyDataLoader loader;
+
+    private volatile LoadingCache<Identifier, CompletableFuture<IPony>> poniesCache;
+
+    /**
+     * Ponies evicted from the main cache, held onto for as long as memory allows.
+     */
+    private final Cache<Identifier, IPony> evictedPonies = CacheBuilder.newBuilder()
+            .softValues()
+            .build();
 
-    public PonyManager(PonyConfig config) {
+    private final LongAdder evictedHits = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    /**
+     * Bumped whenever every previously resolved pony may no longer be correct, such as when settings change
+     * or resources are reloaded, invalidating every entity's {@link PonyHandle}.
+     *
+     * Changes to a single skin mark only its own pony as replaced instead.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public PonyManager(PonyConfig config, PonyDataCache dataCache) {
         this.config = config;
+        this.loader = new PonyDataLoader(dataCache);
+        this.poniesCache = buildCache();
+
+        config.ponyLevel.onChanged(level -> invalidateHandles());
+        config.cacheSize.onChanged(size -> rebuildCache());
+        config.cacheExpiry.onChanged(expiry -> rebuildCache());
+        config.softCache.onChanged(soft -> rebuildCache());
+
+        PonyMetrics.sample(PonyMetrics.CACHE_HITS, () -> getCacheStats().hitCount());
+        PonyMetrics.sample(PonyMetrics.CACHE_MISSES, () -> getCacheStats().missCount());
+    }
+
+    private LoadingCache<Identifier, CompletableFuture<IPony>> buildCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(Math.max(1, config.cacheSize.get()))
+                .expireAfterAccess(Math.max(1, config.cacheExpiry.get()), TimeUnit.SECONDS)
+                .<Identifier, CompletableFuture<IPony>>removalListener(this::onPonyRemoved)
+                .recordStats()
+                .build(CacheLoader.from(this::loadPony));
+    }
+
+    private void rebuildCache() {
+        LoadingCache<Identifier, CompletableFuture<IPony>> old = poniesCache;
+        poniesCache = buildCache();
+        old.invalidateAll();
+        evictedHits.reset();
+        loadCount.reset();
+        loadTime.reset();
+        invalidateHandles();
+    }
+
+    private void onPonyRemoved(RemovalNotification<Identifier, CompletableFuture<IPony>> notification) {
+        CompletableFuture<IPony> future = notification.getValue();
+
+        if (notification.wasEvicted() && config.softCache.get() && future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            evictedPonies.put(notification.getKey(), future.join());
+        }
+    }
+
+    private void invalidateHandles() {
+        generation.incrementAndGet();
+    }
+
+    private CompletableFuture<IPony> loadPony(Identifier resource) {
+        IPony evicted = evictedPonies.asMap().remove(resource);
+
+        if (evicted != null) {
+            evictedHits.increment();
+            return CompletableFuture.completedFuture(evicted);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<IPony> future = new CompletableFuture<>();
+
+        // stops early if a blocking lookup gets there first
+        loader.load(resource, future::isDone).thenAccept(data -> {
+            if (data != null) {
+                loadTime.add(System.nanoTime() - start);
+                loadCount.increment();
+                future.complete(new Pony(resource, data));
+            }
+        });
+
+        return future;
     }
 
     @Override
     public IPony getPony(Identifier resource) {
+        IPony pony = defaultPonies.get(resource);
+
+        if (pony != null) {
+            return pony;
+        }
+
+        CompletableFuture<IPony> future = getPonyAsync(resource);
+        pony = future.getNow(null);
+
+        if (pony == null) {
+            // Callers of the blocking method need an answer right away, so read it here.
+            // The pending load sees its future completed and skips whatever it hasn't started yet.
+            pony = new Pony(resource, loader.loadNow(resource));
+
+            if (!future.complete(pony)) {
+                return future.join();
+            }
+        }
+
+        return pony;
+    }
+
+    @Override
+    public CompletableFuture<IPony> getPonyAsync(Identifier resource) {
         try {
             return poniesCache.get(resource);
         } catch (ExecutionException e) {
-            return new Pony(resource, PonyData.NULL);
+            return CompletableFuture.completedFuture(new Pony(resource, PonyData.NULL));
         }
     }
 
+    /**
+     * Starts loading the pony for a texture ahead of it being needed.
+     *
+     * Textures that are already cached are returned as is without being counted as a hit,
+     * so prefetching doesn't skew the cache's statistics.
+     */
+    public CompletableFuture<IPony> prefetchPony(Identifier resource) {
+        CompletableFuture<IPony> future = poniesCache.asMap().get(resource);
+
+        if (future != null) {
+            return future;
+        }
+
+        return getPonyAsync(resource);
+    }
+
+    @Override
+    public IPony getPonyOrPlaceholder(Identifier resource, UUID uuid) {
+        IPony pony = getPonyAsync(resource).getNow(null);
+
+        if (pony == null) {
+            return getDefaultPony(uuid);
+        }
+
+        return getPonyForLevel(pony, uuid);
+    }
+
     @Override
     public IPony getPony(PlayerEntity player) {
         if (player.getGameProfile() == null) {
@@ -60,13 +218,54 @@ public class PonyManager implements IPonyManager, IdentifiableResourceReloadList
         }
 
         Identifier skin = getSkin(player);
+        PonyHandle handle = PonyHandle.of(player);
+        int generation = this.generation.get();
+        IPony pony = handle.get(skin, generation);
+
+        if (pony != null) {
+            return pony;
+        }
+
+        PonyMetrics.PONIES_RESOLVED.increment();
+
         UUID uuid = player.getGameProfile().getId();
 
         if (skin == null) {
+            return handle.set(skin, generation, null, getDefaultPony(uuid));
+        }
+
+        pony = getPonyAsync(skin).getNow(null);
+
+        if (pony == null) {
+            // Not stored so the real pony is picked up as soon as it finishes loading.
             return getDefaultPony(uuid);
         }
 
-        return getPony(skin, uuid);
+        return handle.set(skin, generation, pony, getPonyForLevel(pony, uuid));
+    }
+
+    /**
+     * Gets the pony for an entity with the given texture, reusing the one resolved for it before
+     * if the texture hasn't changed since.
+     */
+    public IPony getPony(LivingEntity entity, Identifier resource) {
+        PonyHandle handle = PonyHandle.of(entity);
+        int generation = this.generation.get();
+        IPony pony = handle.get(resource, generation);
+
+        if (pony == null) {
+            PonyMetrics.PONIES_RESOLVED.increment();
+            pony = getPonyAsync(resource).getNow(null);
+
+            if (pony == null) {
+                // Not stored so the real pony is picked up as soon as it finishes loading.
+                return getDefaultPony(entity.getUuid());
+            }
+
+            handle.set(resource, generation, pony, pony);
+        }
+
+        return pony;
     }
 
     @Nullable
@@ -80,8 +279,10 @@ public class PonyManager implements IPonyManager, IdentifiableResourceReloadList
 
     @Override
     public IPony getPony(Identifier resource, UUID uuid) {
-        IPony pony = getPony(resource);
+        return getPonyForLevel(getPony(resource), uuid);
+    }
 
+    private IPony getPonyForLevel(IPony pony, UUID uuid) {
         if (config.ponyLevel.get() == PonyLevel.PONIES && pony.getMetadata().getRace().isHuman()) {
             return getBackgroundPony(uuid);
         }
@@ -100,17 +301,115 @@ public class PonyManager implements IPonyManager, IdentifiableResourceReloadList
 
     @Override
     public IPony getBackgroundPony(UUID uuid) {
-        return getPony(backgroundPonyList.getId(uuid));
+        IPony pony = backgroundPonyList.getPony(uuid);
+
+        if (pony == null) {
+            return getPony(IPonyManager.getDefaultSkin(uuid));
+        }
+
+        return pony;
+    }
+
+    @Override
+    public IPony getBackgroundPony(UUID uuid, Race race) {
+        IPony pony = backgroundPonyList.getPony(uuid, race, null);
+
+        if (pony == null) {
+            return getBackgroundPony(uuid);
+        }
+
+        return pony;
+    }
+
+    /**
+     * Pre-seeds the cache with metadata read from a downloaded skin while its image is still in memory,
+     * so its first lookup doesn't have to read it back from the gpu.
+     *
+     * Replaces anything already cached for the texture.
+     *
+     * @param png The downloaded file, if available, so the result can be stored to and found in the persistent cache.
+     */
+    public void seedPony(Identifier resource, @Nullable byte[] png, NativeImage image) {
+        seedPony(resource, loader.loadDownload(png, image));
+    }
+
+    /**
+     * Pre-seeds the cache with already known metadata for a texture.
+     *
+     * Replaces anything already cached for the texture.
+     */
+    public void seedPony(Identifier resource, IPonyData data) {
+        replacePony(resource);
+        poniesCache.put(resource, CompletableFuture.completedFuture(new Pony(resource, data)));
     }
 
     @Override
     public void removePony(Identifier resource) {
-        poniesCache.invalidate(resource);
+        replacePony(resource);
+    }
+
+    /**
+     * Drops whatever is cached for a texture and marks it as replaced, so only the handles of entities using it are invalidated.
+     * Goes through the map views so the lookups aren't counted towards the cache's statistics.
+     */
+    private void replacePony(Identifier resource) {
+        markReplaced(evictedPonies.asMap().remove(resource));
+
+        CompletableFuture<IPony> future = poniesCache.asMap().remove(resource);
+
+        if (future != null) {
+            // a load still in flight is marked once it finishes, in case an entity picks it up before then
+            future.thenAccept(PonyManager::markReplaced);
+        }
+    }
+
+    private static void markReplaced(@Nullable IPony pony) {
+        if (pony instanceof Pony) {
+            ((Pony)pony).markReplaced();
+        }
+    }
+
+    /**
+     * Gets the statistics for the pony cache since it was created.
+     *
+     * Ponies recovered from the evicted ponies count as hits, and load times
+     * cover the full time taken to read a skin rather than just starting to.
+     */
+    public CacheStats getCacheStats() {
+        CacheStats stats = poniesCache.stats();
+        long recovered = evictedHits.sum();
+
+        return new CacheStats(
+                stats.hitCount() + recovered,
+                stats.missCount() - recovered,
+                loadCount.sum(),
+                stats.loadExceptionCount(),
+                loadTime.sum(),
+                stats.evictionCount()
+        );
+    }
+
+    /**
+     * Gets the number of ponies currently held by the cache, not counting evicted ones.
+     */
+    public long getCacheSize() {
+        return poniesCache.size();
     }
 
     public void clearCache() {
-        MineLittlePony.logger.info("Flushed {} cached ponies.", poniesCache.size());
+        CacheStats stats = getCacheStats();
+        MineLittlePony.logger.info("Flushed {} cached ponies. Hit rate: {}%, hits: {}, misses: {}, loads: {} (average {}ms), evictions: {}",
+                poniesCache.size(),
+                Math.round(stats.hitRate() * 100),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.loadSuccessCount(),
+                String.format("%.2f", stats.averageLoadPenalty() / 1000000),
+                stats.evictionCount()
+        );
+        evictedPonies.invalidateAll();
         poniesCache.invalidateAll();
+        invalidateHandles();
     }
 
     @Override
@@ -118,19 +417,50 @@ public class PonyManager implements IPonyManager, IdentifiableResourceReloadList
             Profiler serverProfiler, Profiler clientProfiler,
             Executor serverExecutor, Executor clientExecutor) {
 
-        sync.getClass();
-        return sync.whenPrepared(null).thenRunAsync(() -> {
-            clientProfiler.startTick();
-            clientProfiler.push("Reloading all background ponies");
-            poniesCache.invalidateAll();
-            backgroundPonyList.reloadAll(sender);
-            clientProfiler.pop();
-            clientProfiler.endTick();
-        }, clientExecutor);
+        CompletableFuture<BackgroundPonyList> list = BackgroundPonyList.load(sender, loader, serverExecutor, backgroundPonyList);
+        CompletableFuture<Map<Identifier, IPony>> defaults = CompletableFuture.supplyAsync(() -> loadDefaultPonies(sender), serverExecutor);
+
+        return CompletableFuture.allOf(list, defaults)
+                .thenCompose(sync::whenPrepared)
+                .thenAcceptAsync(v -> {
+                    clientProfiler.startTick();
+                    clientProfiler.push("Reloading all background ponies");
+                    evictedPonies.invalidateAll();
+                    poniesCache.invalidateAll();
+                    backgroundPonyList = list.join();
+                    defaultPonies = defaults.join();
+                    invalidateHandles();
+                    clientProfiler.pop();
+                    clientProfiler.endTick();
+                }, clientExecutor);
+    }
+
+    private Map<Identifier, IPony> loadDefaultPonies(ResourceManager manager) {
+        ImmutableMap.Builder<Identifier, IPony> ponies = ImmutableMap.builder();
+
+        for (Identifier skin : DEFAULT_SKINS) {
+            IPonyData data = loader.loadResource(manager, skin);
+
+            if (data != null) {
+                ponies.put(skin, new Pony(skin, data));
+            }
+        }
+
+        return ponies.build();
     }
 
     @Override
     public Identifier getFabricId() {
         return ID;
     }
+
+    /**
+     * Implemented by player skin textures through a mixin.
+     */
+    public interface RegisteredTexture {
+        /**
+         * Tells the texture the identifier it has been registered under with the texture manager.
+         */
+        void setRegisteredId(Identifier id);
+    }
 }
@@ -0,0 +1,79 @@
+package com.minelittlepony.client.pony;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.client.network.PlayerListEntry;
+import net.minecraft.util.Identifier;
+
+import com.minelittlepony.settings.PonyConfig;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the ponies of every player in the tab list in the background,
+ * so they're already cached by the time they come into view.
+ *
+ * The player list is checked every tick for players joining, leaving, or having their skin finish loading.
+ * Newly discovered skins are queued and sent to the pony manager in batches, never having more than the
+ * configured number of skins loading at once.
+ *
+ * Skins are only requested once each, so they expire from the cache like any other
+ * and prefetching never counts towards its statistics.
+ */
+public class PonyPrefetcher {
+
+    private final PonyManager manager;
+    private final PonyConfig config;
+
+    private final Map<UUID, Identifier> knownSkins = new HashMap<>();
+    private final Set<UUID> listed = new HashSet<>();
+
+    private final Queue<Identifier> pending = new ArrayDeque<>();
+    private final AtomicInteger loading = new AtomicInteger();
+
+    public PonyPrefetcher(PonyManager manager, PonyConfig config) {
+        this.manager = manager;
+        this.config = config;
+    }
+
+    public void onTick(MinecraftClient client) {
+        ClientPlayNetworkHandler handler = client.getNetworkHandler();
+
+        if (handler == null || !config.prefetch.get()) {
+            knownSkins.clear();
+            pending.clear();
+            return;
+        }
+
+        listed.clear();
+
+        for (PlayerListEntry entry : handler.getPlayerList()) {
+            UUID id = entry.getProfile().getId();
+            listed.add(id);
+
+            if (entry.hasSkinTexture()) {
+                Identifier skin = entry.getSkinTexture();
+
+                if (!skin.equals(knownSkins.put(id, skin))) {
+                    pending.add(skin);
+                }
+            }
+        }
+
+        knownSkins.keySet().retainAll(listed);
+
+        int limit = Math.max(1, config.prefetchConcurrency.get());
+
+        while (!pending.isEmpty() && loading.get() < limit) {
+            loading.incrementAndGet();
+            manager.prefetchPony(pending.remove()).whenComplete((pony, e) -> loading.decrementAndGet());
+        }
+    }
+}
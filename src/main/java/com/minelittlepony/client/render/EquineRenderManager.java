@@ -2,23 +2,31 @@ package com.minelittlepony.client.render;
 
 import com.minelittlepony.api.pony.IPony;
 import com.minelittlepony.client.MineLittlePony;
+import com.minelittlepony.client.PonyMetrics;
 import com.minelittlepony.client.model.IPonyModel;
 import com.minelittlepony.client.model.ModelWrapper;
+import com.minelittlepony.client.pony.PonyHandle;
 import com.minelittlepony.client.transform.PonyPosture;
 import com.minelittlepony.mson.api.ModelKey;
+import com.minelittlepony.settings.PonyConfig;
 import com.minelittlepony.util.MathUtil;
 import com.mojang.blaze3d.platform.GlStateManager.DstFactor;
 import com.mojang.blaze3d.platform.GlStateManager.SrcFactor;
 import com.mojang.blaze3d.systems.RenderSystem;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.Frustum;
 import net.minecraft.client.render.entity.model.EntityModel;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
 
 public class EquineRenderManager<T extends LivingEntity, M extends EntityModel<T> & IPonyModel<T>> {
 
@@ -26,6 +34,9 @@ public class EquineRenderManager<T extends LivingEntity, M extends EntityModel<T
 
     private IPony pony;
 
+    @Nullable
+    private Snapshot snapshot;
+
     private final IPonyRenderContext<T, M> renderer;
 
     private boolean skipBlend;
@@ -99,7 +110,7 @@ public class EquineRenderManager<T extends LivingEntity, M extends EntityModel<T
 
     @SuppressWarnings("unchecked")
     public void applyPostureTransform(T player, MatrixStack stack, float yaw, float ticks) {
-        ((PonyPosture<T>) getPosture(player)).apply(player, getModel(), stack, yaw, ticks, 1);
+        ((PonyPosture<T>) updateModel(player, Mode.THIRD_PERSON).posture).apply(player, getModel(), stack, yaw, ticks, 1);
     }
 
     @SuppressWarnings("unchecked")
@@ -138,31 +149,114 @@ public class EquineRenderManager<T extends LivingEntity, M extends EntityModel<T
 
     public ModelWrapper<T, M> setModel(ModelKey<?> key) {
         playerModel = new ModelWrapper<>(key);
+        snapshot = null;
 
         return playerModel;
     }
 
     public ModelWrapper<T, M> setModel(ModelWrapper<T, M> wrapper) {
+        if (playerModel != wrapper) {
+            snapshot = null;
+        }
         playerModel = wrapper;
         return wrapper;
     }
 
+    /**
+     * Applies the metadata of the given texture to the model.
+     *
+     * Textures that haven't finished loading yet are skipped, leaving the model as it was until they have.
+     */
     public void updateMetadata(Identifier texture) {
-        pony = MineLittlePony.getInstance().getManager().getPony(texture);
-        playerModel.apply(pony.getMetadata());
+        IPony pony = MineLittlePony.getInstance().getManager().getPonyAsync(texture).getNow(null);
+
+        if (pony != null) {
+            this.pony = pony;
+            playerModel.apply(pony.getMetadata());
+            snapshot = null;
+        }
     }
 
-    public void updateModel(T entity, Mode mode) {
+    /**
+     * Brings the model up to date with the entity's state for this frame.
+     *
+     * The living state is only evaluated the first time an entity is updated in a frame. Any further
+     * calls for it, until another entity is updated, return the same snapshot and leave the model untouched.
+     */
+    public Snapshot updateModel(T entity, Mode mode) {
+        long frame = PonyMetrics.getFrame();
+
+        if (snapshot != null && snapshot.entity == entity && snapshot.mode == mode && snapshot.frame == frame) {
+            return snapshot;
+        }
+
         pony = renderer.getEntityPony(entity);
         playerModel.apply(pony.getMetadata());
         pony.updateForEntity(entity);
 
         getModel().updateLivingState(entity, pony, mode);
+
+        Detail detail = getDetail(entity, mode);
+        getModel().getAttributes().detail = detail;
+
+        int interval = getAnimationInterval(entity, mode);
+        getModel().getAttributes().reusePose = interval > 1 && (frame + entity.getEntityId()) % interval != 0;
+
+        snapshot = new Snapshot(frame, entity, mode, pony, getPosture(entity), detail, getScaleFactor(), getShadowScale(), PonyHandle.of(entity).getBoundingBox(entity, pony));
+        return snapshot;
+    }
+
+    /**
+     * Picks how much detail to draw an entity with based on its distance from the camera.
+     */
+    private Detail getDetail(T entity, Mode mode) {
+        if (mode == Mode.FIRST_PERSON) {
+            return Detail.FULL;
+        }
+
+        PonyConfig config = MineLittlePony.getInstance().getConfig();
+        double distance = MinecraftClient.getInstance().gameRenderer.getCamera().getPos().squaredDistanceTo(entity.getPos());
+
+        if (distance > square(config.minimalDetailDistance.get())) {
+            return Detail.MINIMAL;
+        }
+
+        if (distance > square(config.reducedDetailDistance.get())) {
+            return Detail.REDUCED;
+        }
+
+        return Detail.FULL;
+    }
+
+    /**
+     * Picks how many frames an entity's pose is held for between animation updates.
+     * Entities are spread out over the frames so they don't all animate on the same one.
+     */
+    private int getAnimationInterval(T entity, Mode mode) {
+        PonyConfig config = MineLittlePony.getInstance().getConfig();
+
+        if (mode == Mode.FIRST_PERSON || !config.slowanimations.get() || config.animationStepDistance.get() <= 0) {
+            return 1;
+        }
+
+        double distance = Math.sqrt(MinecraftClient.getInstance().gameRenderer.getCamera().getPos().squaredDistanceTo(entity.getPos()));
+
+        return 1 << MathHelper.clamp((int)(distance / config.animationStepDistance.get()), 0, 3);
+    }
+
+    private static double square(int value) {
+        return (double)value * value;
+    }
+
+    /**
+     * Gets the entity's culling box without updating the model.
+     */
+    public Box getBoundingBox(T entity) {
+        return PonyHandle.of(entity).getBoundingBox(entity, renderer.getEntityPony(entity));
     }
 
     public IPony getPony(T entity) {
-        updateModel(entity, Mode.THIRD_PERSON);
-        return pony;
+        return updateModel(entity, Mode.THIRD_PERSON).pony;
     }
 
     public float getShadowScale() {
@@ -200,4 +294,54 @@ public class EquineRenderManager<T extends LivingEntity, M extends EntityModel<T
         FIRST_PERSON,
         THIRD_PERSON
     }
+
+    /**
+     * Levels of detail a pony can be drawn with, from closest to furthest away.
+     */
+    public enum Detail {
+        /**
+         * Everything is drawn.
+         */
+        FULL,
+        /**
+         * Overlay layers and gear are left out.
+         */
+        REDUCED,
+        /**
+         * Tails are cut down to their first segment, and no features are drawn.
+         */
+        MINIMAL
+    }
+
+    /**
+     * Everything worked out for an entity while updating the model for a frame,
+     * shared by every stage of drawing it during that frame.
+     */
+    @Immutable
+    public static final class Snapshot {
+        public final long frame;
+        public final LivingEntity entity;
+        public final Mode mode;
+
+        public final IPony pony;
+        public final PonyPosture<?> posture;
+        public final Detail detail;
+
+        public final float scale;
+        public final float shadowSize;
+
+        public final Box boundingBox;
+
+        Snapshot(long frame, LivingEntity entity, Mode mode, IPony pony, PonyPosture<?> posture, Detail detail, float scale, float shadowSize, Box boundingBox) {
+            this.frame = frame;
+            this.entity = entity;
+            this.mode = mode;
+            this.pony = pony;
+            this.posture = posture;
+            this.detail = detail;
+            this.scale = scale;
+            this.shadowSize = shadowSize;
+            this.boundingBox = boundingBox;
+        }
+    }
 }
@@ -5,8 +5,6 @@ import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Matrix4f;
 
-import com.minelittlepony.api.pony.IPony;
-
 public class FrustrumCheck<T extends LivingEntity> extends Frustum {
 
     private T entity;
@@ -28,11 +26,7 @@ public class FrustrumCheck<T extends LivingEntity> extends Frustum {
 
     @Override
     public boolean isVisible(Box bounds) {
-        IPony pony = renderer.getPony(entity);
-
-        Box boundingBox = pony.getComputedBoundingBox(entity);
-
-        return vanilla.isVisible(boundingBox);
+        return vanilla.isVisible(renderer.getBoundingBox(entity));
     }
 
     @Override
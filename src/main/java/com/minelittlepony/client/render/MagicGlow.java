@@ -4,7 +4,11 @@ import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.RenderPhase;
 import net.minecraft.client.render.VertexFormats;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.minelittlepony.client.PonyMetrics;
 import com.mojang.blaze3d.platform.GlStateManager.DstFactor;
 import com.mojang.blaze3d.platform.GlStateManager.SrcFactor;
 import com.mojang.blaze3d.systems.RenderSystem;
@@ -24,6 +28,10 @@ public class MagicGlow extends RenderPhase {
         RenderSystem.defaultBlendFunc();
      });
 
+    private static final Cache<TintKey, RenderLayer> TINTED_LAYERS = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
     private static final RenderLayer MAGIC = RenderLayer.of("mlp_magic_glow", VertexFormats.POSITION_COLOR_TEXTURE_LIGHT_NORMAL, 7, 256, RenderLayer.MultiPhaseParameters.builder()
             .texture(NO_TEXTURE)
             .writeMaskState(COLOR_MASK)
@@ -36,9 +44,43 @@ public class MagicGlow extends RenderPhase {
         return MAGIC;
     }
 
+    /**
+     * Gets a layer drawing the given texture as a glow of the given colour.
+     *
+     * Colours are rounded to 8 bits a channel, and the most recently used layers are kept around
+     * so everything drawn with the same texture and colour shares one layer and is batched together.
+     */
     public static RenderLayer getTintedTexturedLayer(Identifier texture, float red, float green, float blue, float alpha) {
+        TintKey key = new TintKey(texture, pack(alpha) << 24 | pack(red) << 16 | pack(green) << 8 | pack(blue));
+        RenderLayer layer = TINTED_LAYERS.getIfPresent(key);
+
+        if (layer == null) {
+            PonyMetrics.TINTED_LAYERS_CREATED.increment();
+            layer = createTintedTexturedLayer(key);
+            TINTED_LAYERS.put(key, layer);
+        }
+
+        return layer;
+    }
+
+    /**
+     * The number of tinted layers currently cached.
+     */
+    public static long getTintedLayerCount() {
+        return TINTED_LAYERS.size();
+    }
+
+    private static int pack(float channel) {
+        return MathHelper.clamp(Math.round(channel * 255), 0, 255);
+    }
+
+    private static float unpack(int color, int shift) {
+        return ((color >> shift) & 0xFF) / 255F;
+    }
+
+    private static RenderLayer createTintedTexturedLayer(TintKey key) {
         return RenderLayer.of("mlp_tint_layer", VertexFormats.POSITION_COLOR_TEXTURE_OVERLAY_LIGHT_NORMAL, 7, 256, true, true, RenderLayer.MultiPhaseParameters.builder()
-                .texture(new Color(texture, red, green, blue, alpha))
+                .texture(new Color(key.texture, unpack(key.color, 16), unpack(key.color, 8), unpack(key.color, 0), unpack(key.color, 24)))
                 .writeMaskState(COLOR_MASK)
                 .alpha(ONE_TENTH_ALPHA)
                 .transparency(GLOWING_TRANSPARENCY)
@@ -48,6 +90,28 @@ public class MagicGlow extends RenderPhase {
                 .build(true));
     }
 
+    private static final class TintKey {
+        private final Identifier texture;
+        private final int color;
+
+        TintKey(Identifier texture, int color) {
+            this.texture = texture;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TintKey
+                    && ((TintKey)other).color == color
+                    && ((TintKey)other).texture.equals(texture);
+        }
+
+        @Override
+        public int hashCode() {
+            return texture.hashCode() * 31 + color;
+        }
+    }
+
     private static class Color extends Texture {
 
         private final float red;
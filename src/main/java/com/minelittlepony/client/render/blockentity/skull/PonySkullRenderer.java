@@ -24,6 +24,7 @@ import net.minecraft.util.Util;
 import net.minecraft.util.math.Direction;
 
 import java.util.Map;
+import java.util.UUID;
 import javax.annotation.Nullable;
 
 /**
@@ -73,7 +74,9 @@ public class PonySkullRenderer extends SkullBlockEntityRenderer {
 
         Identifier skin = skull.getSkinResource(profile);
 
-        skull.bindPony(MineLittlePony.getInstance().getManager().getPony(skin));
+        UUID uuid = profile == null || profile.getId() == null ? Util.NIL_UUID : profile.getId();
+
+        skull.bindPony(MineLittlePony.getInstance().getManager().getPonyOrPlaceholder(skin, uuid));
 
         stack.push();
 
@@ -39,7 +39,7 @@ public class PonyStandRenderer extends ArmorStandEntityRenderer {
         public Armour(FeatureRendererContext<ArmorStandEntity, ArmorStandArmorEntityModel> context) {
             super(context, new ArmorStandArmorEntityModel(0.5F), new ArmorStandArmorEntityModel(1));
 
-            pony.apply(new PonyData(Race.EARTH));
+            pony.apply(PonyData.of(Race.EARTH));
         }
 
         @Override
@@ -26,7 +26,7 @@ import net.minecraft.util.Identifier;
 
 public class ArmourFeature<T extends LivingEntity, M extends EntityModel<T> & IPonyModel<T>> extends AbstractPonyFeature<T, M> {
 
-    public static final IArmourTextureResolver<LivingEntity> DEFAULT = new DefaultArmourTextureResolver<>();
+    public static final IArmourTextureResolver<LivingEntity> DEFAULT = DefaultArmourTextureResolver.INSTANCE;
 
     public ArmourFeature(IPonyRenderContext<T, M> renderer) {
         super(renderer);
@@ -12,57 +12,73 @@ import com.minelittlepony.api.pony.meta.Wearable;
 import com.minelittlepony.client.model.IPonyModel;
 import com.minelittlepony.client.model.ModelType;
 import com.minelittlepony.client.render.IPonyRenderContext;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
 import com.minelittlepony.model.BodyPart;
 import com.minelittlepony.model.gear.IGear;
 import com.minelittlepony.model.gear.IStackable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 public class GearFeature<T extends LivingEntity, M extends EntityModel<T> & IPonyModel<T>> extends AbstractPonyFeature<T, M> {
 
-    private final Map<Wearable, IGear> gears;
+    private static final Wearable[] WEARABLES = Wearable.values();
+
+    /**
+     * The gear for each accessory, indexed by its ordinal.
+     */
+    private final IGear[] gears = new IGear[WEARABLES.length];
+
+    /**
+     * Bitmask of the accessories that have gear.
+     */
+    private final int gearMask;
+
+    /**
+     * How far each body part's stackable gear has been pushed out so far, indexed by ordinal.
+     * Reused between entities.
+     */
+    private final float[] stackingOffsets = new float[BodyPart.values().length];
 
     public GearFeature(IPonyRenderContext<T, M> renderer) {
         super(renderer);
 
-        gears = ModelType.getWearables().collect(Collectors.toMap(
-                Map.Entry::getKey,
-                e -> e.getValue().createModel()
-        ));
+        gearMask = ModelType.getWearables().mapToInt(e -> {
+            gears[e.getKey().ordinal()] = e.getValue().createModel();
+            return 1 << e.getKey().ordinal();
+        }).reduce(0, (a, b) -> a | b);
     }
 
     @Override
     public void render(MatrixStack stack, VertexConsumerProvider renderContext, int lightUv, T entity, float limbDistance, float limbAngle, float tickDelta, float age, float headYaw, float headPitch) {
 
-        if (entity.isInvisible()) {
+        M model = getModelWrapper().getBody();
+
+        int mask = getContext().getWearableMask(model, entity) & gearMask;
+
+        if (mask == 0 || entity.isInvisible() || model.getAttributes().detail != Detail.FULL) {
             return;
         }
 
-        M model = getModelWrapper().getBody();
-
-        Map<BodyPart, Float> renderStackingOffsets = new HashMap<>();
+        Arrays.fill(stackingOffsets, 0);
 
-        for (Map.Entry<Wearable, IGear> entry : gears.entrySet()) {
-            Wearable wearable = entry.getKey();
-            IGear gear = entry.getValue();
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits);
+            IGear gear = gears[i];
 
-            if (getContext().shouldRender(model, entity, wearable, gear)) {
+            if (getContext().shouldRender(model, entity, WEARABLES[i], gear)) {
                 stack.push();
                 model.transform(gear.getGearLocation(), stack);
                 model.getBodyPart(gear.getGearLocation()).rotate(stack);
 
                 if (gear instanceof IStackable) {
-                    BodyPart part = gear.getGearLocation();
-                    renderStackingOffsets.compute(part, (k, v) -> {
-                        float offset = ((IStackable)gear).getStackingOffset();
-                        if (v != null) {
-                            stack.translate(0, -v, 0);
-                            offset += v;
-                        }
-                        return offset;
-                    });
+                    int part = gear.getGearLocation().ordinal();
+                    float offset = stackingOffsets[part];
+
+                    if (offset != 0) {
+                        stack.translate(0, -offset, 0);
+                    }
+
+                    stackingOffsets[part] = offset + ((IStackable)gear).getStackingOffset();
                 }
 
                 renderGear(model, entity, gear, stack, renderContext, lightUv, limbDistance, limbAngle, tickDelta);
@@ -19,16 +19,21 @@ abstract class AbstractNpcRenderer<
     T extends MobEntity & VillagerDataContainer,
     M extends ClientPonyModel<T> & IUnicorn<ModelPart> & ModelWithHat> extends PonyRenderer.Caster<T, M> {
 
+    /**
+     * Gear villagers may wear regardless of their skin, depending on their profession or name.
+     */
+    private static final int NPC_WEARABLES = 1 << Wearable.SADDLE_BAGS.ordinal() | 1 << Wearable.MUFFIN.ordinal();
+
     private final TextureSupplier<T> baseTextures;
 
-    private final String entityType;
+    private final NpcClothingFeature<T, M, AbstractNpcRenderer<T, M>> clothing;
 
     public AbstractNpcRenderer(EntityRenderDispatcher manager, ModelKey<? super M> key, String type, TextureSupplier<String> formatter) {
         super(manager, key);
 
-        entityType = type;
         baseTextures = new PonyTextures<>(formatter);
-        addFeature(new NpcClothingFeature<>(this, entityType));
+        clothing = new NpcClothingFeature<>(this, type);
+        addFeature(clothing);
     }
 
     @Override
@@ -53,10 +58,15 @@ abstract class AbstractNpcRenderer<
         return super.shouldRender(model, entity, wearable, gear);
     }
 
+    @Override
+    public int getWearableMask(M model, T entity) {
+        return super.getWearableMask(model, entity) | NPC_WEARABLES;
+    }
+
     @Override
     public Identifier getDefaultTexture(T villager, Wearable wearable) {
         if (wearable == Wearable.SADDLE_BAGS) {
-            return NpcClothingFeature.getClothingTexture(villager, entityType);
+            return clothing.getProfessionTexture(villager.getVillagerData().getProfession());
         }
         return super.getDefaultTexture(villager, wearable);
     }
@@ -2,8 +2,6 @@ package com.minelittlepony.client.render.entity.npc;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.entity.feature.FeatureRendererContext;
@@ -18,7 +16,6 @@ import net.minecraft.resource.Resource;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.util.registry.DefaultedRegistry;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.village.VillagerData;
 import net.minecraft.village.VillagerDataContainer;
@@ -30,12 +27,11 @@ import com.minelittlepony.client.render.IPonyRenderContext;
 import com.minelittlepony.client.render.entity.feature.AbstractPonyFeature;
 
 import java.io.IOException;
-import java.util.Map;
 
 class NpcClothingFeature<
         T extends LivingEntity & VillagerDataContainer,
         M extends EntityModel<T> & IPonyModel<T> & ModelWithHat,
-        C extends FeatureRendererContext<T, M> & IPonyRenderContext<T, M>> extends AbstractPonyFeature<T, M> {
+        C extends FeatureRendererContext<T, M> & IPonyRenderContext<T, M>> extends AbstractPonyFeature<T, M> implements NpcTextureTables.Table {
 
     private static final Int2ObjectMap<Identifier> LEVEL_TO_ID = Util.make(new Int2ObjectOpenHashMap<>(), a -> {
         a.put(1, new Identifier("stone"));
@@ -45,26 +41,31 @@ class NpcClothingFeature<
         a.put(5, new Identifier("diamond"));
     });
 
-    private final Object2ObjectMap<VillagerType, HatType> typeHatCache = new Object2ObjectOpenHashMap<>();
-    private final Object2ObjectMap<VillagerProfession, HatType> profHatCache = new Object2ObjectOpenHashMap<>();
-
     private final String entityType;
 
     private final ResourceManager resourceManager = MinecraftClient.getInstance().getResourceManager();
 
+    /**
+     * Textures and hat types for every villager type and profession, indexed by their raw registry ids.
+     * Filled in whenever resources are reloaded.
+     */
+    private Identifier[] typeSkins = new Identifier[0];
+    private HatType[] typeHats = new HatType[0];
+    private Identifier[] professionSkins = new Identifier[0];
+    private HatType[] professionHats = new HatType[0];
+
+    private final Identifier[] levelSkins;
+
     public NpcClothingFeature(C context, String type) {
         super(context);
         entityType = type;
-    }
-
-    public static Identifier getClothingTexture(VillagerDataContainer entity, String entityType) {
-        VillagerProfession profession = entity.getVillagerData().getProfession();
 
-        return createTexture("minelittlepony", "profession", entityType, Registry.VILLAGER_PROFESSION.getId(profession));
-    }
+        levelSkins = new Identifier[LEVEL_TO_ID.size()];
+        for (int i = 0; i < levelSkins.length; i++) {
+            levelSkins[i] = findTexture("profession_level", LEVEL_TO_ID.get(i + 1));
+        }
 
-    public static Identifier createTexture(String namespace, String type, String entityType, Identifier profession) {
-        return new Identifier(namespace, String.format("textures/entity/%s/%s/%s.png", entityType, type, profession.getPath()));
+        NpcTextureTables.INSTANCE.register(this);
     }
 
     @Override
@@ -75,8 +76,16 @@ class NpcClothingFeature<
             VillagerType type = data.getType();
             VillagerProfession profession = data.getProfession();
 
-            HatType typeHatLayer = getHatType(typeHatCache, "type", Registry.VILLAGER_TYPE, type);
-            HatType profHatLayer = getHatType(profHatCache, "profession", Registry.VILLAGER_PROFESSION, profession);
+            int typeId = Registry.VILLAGER_TYPE.getRawId(type);
+            int professionId = Registry.VILLAGER_PROFESSION.getRawId(profession);
+
+            if (typeId >= typeSkins.length || professionId >= professionSkins.length) {
+                // used before resources were reloaded for the first time, or for types and professions registered since
+                buildTables(resourceManager);
+            }
+
+            HatType typeHatLayer = typeHats[typeId];
+            HatType profHatLayer = professionHats[professionId];
             M entityModel = getContextModel();
 
             entityModel.setHatVisible(
@@ -84,7 +93,7 @@ class NpcClothingFeature<
                    || (profHatLayer == VillagerResourceMetadata.HatType.PARTIAL && typeHatLayer != VillagerResourceMetadata.HatType.FULL)
             );
 
-            Identifier typeSkin = findTexture("type", Registry.VILLAGER_TYPE.getId(type));
+            Identifier typeSkin = typeSkins[typeId];
 
             getContext().getInternalRenderer().updateMetadata(typeSkin);
             renderModel(entityModel, typeSkin, matrixStack, provider, i, entity, 1, 1, 1);
@@ -92,13 +101,13 @@ class NpcClothingFeature<
             entityModel.setHatVisible(true);
 
             if (profession != VillagerProfession.NONE && !entity.isBaby()) {
-                Identifier professionSkin = findTexture("profession", Registry.VILLAGER_PROFESSION.getId(profession));
+                Identifier professionSkin = professionSkins[professionId];
 
                 getContext().getInternalRenderer().updateMetadata(professionSkin);
                 renderModel(entityModel, professionSkin, matrixStack, provider, i, entity, 1, 1, 1);
 
                 if (profession != VillagerProfession.NITWIT) {
-                    Identifier levelSkin = findTexture("profession_level", LEVEL_TO_ID.get(MathHelper.clamp(data.getLevel(), 1, LEVEL_TO_ID.size())));
+                    Identifier levelSkin = levelSkins[MathHelper.clamp(data.getLevel(), 1, levelSkins.length) - 1];
 
                     renderModel(entityModel, levelSkin, matrixStack, provider, i, entity, 1, 1, 1);
                 }
@@ -106,25 +115,52 @@ class NpcClothingFeature<
         }
     }
 
-    public <K> VillagerResourceMetadata.HatType getHatType(Object2ObjectMap<K, HatType> cache, String type, DefaultedRegistry<K> registry, K key) {
-        if (cache.containsKey(key)) {
-            return cache.get(key); // People often complain that villagers cause lag,
-                                   // so let's do better than Mojang and rather NOT go
-                                   // through all the lambda generations if we can avoid it.
+    /**
+     * Gets the clothing texture worn by villagers of the given profession.
+     */
+    public Identifier getProfessionTexture(VillagerProfession profession) {
+        int professionId = Registry.VILLAGER_PROFESSION.getRawId(profession);
+
+        if (professionId >= professionSkins.length) {
+            return findTexture("profession", Registry.VILLAGER_PROFESSION.getId(profession));
         }
-        return loadHatType(cache, type, registry, key);
+
+        return professionSkins[professionId];
     }
 
-    private <K> VillagerResourceMetadata.HatType loadHatType(Map<K, HatType> cache, String type, DefaultedRegistry<K> registry, K key) {
-        return cache.computeIfAbsent(key, k -> {
-            try (Resource res = resourceManager.getResource(findTexture(type, registry.getId(k)))) {
-                VillagerResourceMetadata meta = res.getMetadata(VillagerResourceMetadata.READER);
-                if (meta != null) {
-                    return meta.getHatType();
-                }
-            } catch (IOException e) { }
-            return HatType.NONE;
-        });
+    @Override
+    public void buildTables(ResourceManager manager) {
+        Identifier[] typeSkins = new Identifier[NpcTextureTables.getSize(Registry.VILLAGER_TYPE)];
+        HatType[] typeHats = new HatType[typeSkins.length];
+        Identifier[] professionSkins = new Identifier[NpcTextureTables.getSize(Registry.VILLAGER_PROFESSION)];
+        HatType[] professionHats = new HatType[professionSkins.length];
+
+        for (VillagerType type : Registry.VILLAGER_TYPE) {
+            int id = Registry.VILLAGER_TYPE.getRawId(type);
+            typeSkins[id] = findTexture("type", Registry.VILLAGER_TYPE.getId(type));
+            typeHats[id] = loadHatType(manager, typeSkins[id]);
+        }
+
+        for (VillagerProfession profession : Registry.VILLAGER_PROFESSION) {
+            int id = Registry.VILLAGER_PROFESSION.getRawId(profession);
+            professionSkins[id] = findTexture("profession", Registry.VILLAGER_PROFESSION.getId(profession));
+            professionHats[id] = loadHatType(manager, professionSkins[id]);
+        }
+
+        this.typeSkins = typeSkins;
+        this.typeHats = typeHats;
+        this.professionSkins = professionSkins;
+        this.professionHats = professionHats;
+    }
+
+    private static VillagerResourceMetadata.HatType loadHatType(ResourceManager manager, Identifier texture) {
+        try (Resource res = manager.getResource(texture)) {
+            VillagerResourceMetadata meta = res.getMetadata(VillagerResourceMetadata.READER);
+            if (meta != null) {
+                return meta.getHatType();
+            }
+        } catch (IOException e) { }
+        return HatType.NONE;
     }
 
     public Identifier findTexture(String category, Identifier identifier) {
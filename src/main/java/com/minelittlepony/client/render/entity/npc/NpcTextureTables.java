@@ -0,0 +1,64 @@
+package com.minelittlepony.client.render.entity.npc;
+
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Rebuilds the villager texture tables kept by npc renderers whenever client resources are reloaded.
+ *
+ * Tables are indexed by the raw registry ids of villager types and professions,
+ * so picking a villager's textures while rendering never formats a path or asks the resource manager for anything.
+ *
+ * Tables are only weakly held, so renderers that get replaced can be collected along with their tables.
+ */
+public final class NpcTextureTables implements SimpleSynchronousResourceReloadListener {
+    public static final NpcTextureTables INSTANCE = new NpcTextureTables();
+
+    private static final Identifier ID = new Identifier("minelittlepony", "npc_textures");
+
+    private final Set<Table> tables = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private NpcTextureTables() {}
+
+    /**
+     * Adds a table to be rebuilt on every reload.
+     */
+    void register(Table table) {
+        tables.add(table);
+    }
+
+    /**
+     * Gets the length of a table needed to hold every entry of the given registry by its raw id.
+     */
+    static <T> int getSize(Registry<T> registry) {
+        int size = 0;
+        for (T entry : registry) {
+            size = Math.max(size, registry.getRawId(entry) + 1);
+        }
+        return size;
+    }
+
+    @Override
+    public void apply(ResourceManager manager) {
+        new ArrayList<>(tables).forEach(table -> table.buildTables(manager));
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+
+    interface Table {
+        /**
+         * Rebuilds this table against the given resources.
+         */
+        void buildTables(ResourceManager manager);
+    }
+}
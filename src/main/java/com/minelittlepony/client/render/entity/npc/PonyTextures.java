@@ -4,6 +4,7 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
 import net.minecraft.village.VillagerData;
 import net.minecraft.village.VillagerDataContainer;
 import net.minecraft.village.VillagerProfession;
@@ -11,20 +12,22 @@ import net.minecraft.village.VillagerType;
 
 import com.minelittlepony.client.MineLittlePony;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 /**
  * Cached pool of villager textures.
+ *
+ * Textures for every villager type and profession are worked out up front,
+ * into a table indexed by their raw registry ids, and again whenever resources are reloaded.
  */
-public class PonyTextures<T extends LivingEntity & VillagerDataContainer> implements TextureSupplier<T> {
+public class PonyTextures<T extends LivingEntity & VillagerDataContainer> implements TextureSupplier<T>, NpcTextureTables.Table {
 
     private final TextureSupplier<String> formatter;
 
     private final Identifier fallback;
 
-    private final Map<String, Identifier> cache = new HashMap<>();
+    private Identifier[] table = new Identifier[0];
+    private int types;
 
     private final Identifier egg;
     private final Identifier egg2;
@@ -35,14 +38,14 @@ public class PonyTextures<T extends LivingEntity & VillagerDataContainer> implem
      * Creates a new profession cache
      *
      * @param formatter Formatter used when creating new textures
-     * @param keyMapper Mapper to convert integer ids into a string value for format insertion
-     * @param fallback  The default if any generated textures fail to load. This is stored in place of failing textures.
      */
     public PonyTextures(TextureSupplier<String> formatter) {
         this.formatter = formatter;
         this.fallback = formatter.supplyTexture("villager_pony");
         this.egg = formatter.supplyTexture("silly_pony");
         this.egg2 = formatter.supplyTexture("tiny_silly_pony");
+
+        NpcTextureTables.INSTANCE.register(this);
     }
 
     @Override
@@ -56,36 +59,73 @@ public class PonyTextures<T extends LivingEntity & VillagerDataContainer> implem
         return getTexture(t.getType(), t.getProfession());
     }
 
-    private Identifier getTexture(final VillagerType type, final VillagerProfession profession) {
+    private Identifier getTexture(VillagerType type, VillagerProfession profession) {
+        if (table.length == 0) {
+            // used before resources were reloaded for the first time
+            buildTables(resourceManager);
+        }
+
+        int typeId = Registry.VILLAGER_TYPE.getRawId(type);
+        int index = Registry.VILLAGER_PROFESSION.getRawId(profession) * types + typeId;
 
-        if (profession == VillagerProfession.NONE) {
+        if (typeId >= types || index >= table.length) {
             return fallback;
         }
 
-        String key = String.format("pony/%s/%s", type, profession);
+        return table[index];
+    }
 
-        if (cache.containsKey(key)) {
-            return cache.get(key); // People often complain that villagers cause lag,
-                                   // so let's do better than Mojang and rather NOT go
-                                   // through all the lambda generations if we can avoid it.
-        }
+    @Override
+    public void buildTables(ResourceManager manager) {
+        int missing = 0;
+        int types = NpcTextureTables.getSize(Registry.VILLAGER_TYPE);
+        Identifier[] table = new Identifier[NpcTextureTables.getSize(Registry.VILLAGER_PROFESSION) * types];
+
+        for (VillagerProfession profession : Registry.VILLAGER_PROFESSION) {
+            int row = Registry.VILLAGER_PROFESSION.getRawId(profession) * types;
+
+            // if texture loading fails, use plains. If that fails too, use the fallback.
+            Identifier plains = fallback;
+
+            if (profession != VillagerProfession.NONE) {
+                Optional<Identifier> texture = findTexture(manager, VillagerType.PLAINS, profession);
+                if (texture.isPresent()) {
+                    plains = texture.get();
+                } else {
+                    missing++;
+                }
+            }
 
-        Identifier result = verifyTexture(formatter.supplyTexture(key)).orElseGet(() -> {
-            if (type == VillagerType.PLAINS) {
-                // if texture loading fails, use the fallback.
-                return fallback;
+            for (VillagerType type : Registry.VILLAGER_TYPE) {
+                Identifier texture = plains;
+
+                if (profession != VillagerProfession.NONE && type != VillagerType.PLAINS) {
+                    Optional<Identifier> found = findTexture(manager, type, profession);
+                    if (found.isPresent()) {
+                        texture = found.get();
+                    } else {
+                        missing++;
+                    }
+                }
+
+                table[row + Registry.VILLAGER_TYPE.getRawId(type)] = texture;
             }
+        }
 
-            return getTexture(VillagerType.PLAINS, profession);
-        });
+        if (missing > 0) {
+            MineLittlePony.logger.debug("{} villager textures were not found. Falling back to plains or `{}`.", missing, fallback);
+        }
+
+        this.types = types;
+        this.table = table;
+    }
 
-        cache.put(key, result);
-        return result;
+    private Optional<Identifier> findTexture(ResourceManager manager, VillagerType type, VillagerProfession profession) {
+        return verifyTexture(manager, formatter.supplyTexture(String.format("pony/%s/%s", type, profession)));
     }
 
-    protected Optional<Identifier> verifyTexture(Identifier texture) {
-        if (!resourceManager.containsResource(texture)) {
-            MineLittlePony.logger.warn("Villager texture `" + texture + "` was not found.");
+    protected Optional<Identifier> verifyTexture(ResourceManager manager, Identifier texture) {
+        if (!manager.containsResource(texture)) {
             return Optional.empty();
         }
 
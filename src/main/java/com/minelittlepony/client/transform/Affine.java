@@ -0,0 +1,99 @@
+package com.minelittlepony.client.transform;
+
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.client.util.math.Vector3f;
+import net.minecraft.util.math.Matrix3f;
+import net.minecraft.util.math.Matrix4f;
+
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A fixed set of transformations collapsed into a single matrix,
+ * so it can be applied to a stack with one multiplication and without allocating anything.
+ */
+@Immutable
+public final class Affine {
+    /**
+     * The transformation that does nothing.
+     */
+    public static final Affine IDENTITY = new Affine(null, null);
+
+    /**
+     * Fractions of a degree the pitch rotations are resolved to.
+     * Anything finer is well under what can be seen on a model.
+     */
+    private static final int PITCH_STEPS = 64;
+
+    /**
+     * Rotations about the x axis by every whole degree and every step within one.
+     * Any angle is the product of one of each.
+     */
+    private static final Affine[] WHOLE_PITCHES = new Affine[360];
+    private static final Affine[] PARTIAL_PITCHES = new Affine[PITCH_STEPS];
+
+    static {
+        for (int i = 0; i < WHOLE_PITCHES.length; i++) {
+            float degrees = i;
+            WHOLE_PITCHES[i] = of(stack -> stack.multiply(Vector3f.POSITIVE_X.getDegreesQuaternion(degrees)));
+        }
+        for (int i = 0; i < PARTIAL_PITCHES.length; i++) {
+            float degrees = i / (float)PITCH_STEPS;
+            PARTIAL_PITCHES[i] = of(stack -> stack.multiply(Vector3f.POSITIVE_X.getDegreesQuaternion(degrees)));
+        }
+    }
+
+    @Nullable
+    private final Matrix4f model;
+    @Nullable
+    private final Matrix3f normal;
+
+    private Affine(@Nullable Matrix4f model, @Nullable Matrix3f normal) {
+        this.model = model;
+        this.normal = normal;
+    }
+
+    /**
+     * Records the transformations applied to a fresh stack by the given function.
+     */
+    public static Affine of(Consumer<MatrixStack> transformations) {
+        MatrixStack stack = new MatrixStack();
+        transformations.accept(stack);
+
+        Matrix4f model = stack.peek().getModel();
+        Matrix3f normal = stack.peek().getNormal();
+
+        Matrix4f identityModel = new Matrix4f();
+        identityModel.loadIdentity();
+        Matrix3f identityNormal = new Matrix3f();
+        identityNormal.loadIdentity();
+
+        if (model.equals(identityModel) && normal.equals(identityNormal)) {
+            return IDENTITY;
+        }
+
+        return new Affine(model, normal);
+    }
+
+    /**
+     * Rotates the top of the stack about the x axis, to within 1/{@value #PITCH_STEPS} of a degree, without allocating anything.
+     */
+    public static void rotateX(MatrixStack stack, float degrees) {
+        int steps = Math.round(degrees * PITCH_STEPS);
+
+        WHOLE_PITCHES[Math.floorMod(Math.floorDiv(steps, PITCH_STEPS), WHOLE_PITCHES.length)].apply(stack);
+        PARTIAL_PITCHES[Math.floorMod(steps, PITCH_STEPS)].apply(stack);
+    }
+
+    /**
+     * Applies this transformation to the top of the stack.
+     */
+    public void apply(MatrixStack stack) {
+        if (model != null) {
+            stack.peek().getModel().multiply(model);
+            stack.peek().getNormal().multiply(normal);
+        }
+    }
+}
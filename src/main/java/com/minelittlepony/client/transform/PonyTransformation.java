@@ -1,12 +1,14 @@
 package com.minelittlepony.client.transform;
 
 import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.client.util.math.Vector3f;
 import net.minecraft.util.math.Vec3d;
 
 import com.google.common.collect.Maps;
 import com.minelittlepony.api.pony.meta.Size;
 import com.minelittlepony.model.BodyPart;
 import com.minelittlepony.model.IModel;
+import com.minelittlepony.model.ModelAttributes;
 
 import java.util.Map;
 
@@ -14,19 +16,19 @@ public enum PonyTransformation {
 
     NORMAL(Size.NORMAL, 0, 3F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isSwimming) stack.translate(0, -0.3F, 0);
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.2F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.61F, 0.1F);
-            if (model.isRiding()) stack.translate(0, -0.2F, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, SWIMMING)) stack.translate(0, -0.3F, 0);
+            if (is(state, CROUCHING)) stack.translate(0, -0.2F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.61F, 0.1F);
+            if (is(state, RIDING)) stack.translate(0, -0.2F, -0.2F);
 
             switch (part) {
                 case NECK:
-                    if (model.getAttributes().isCrouching) stack.translate(-0.03F, 0.03F, 0.1F);
+                    if (is(state, CROUCHING)) stack.translate(-0.03F, 0.03F, 0.1F);
                     break;
                 case HEAD:
-                    if (model.getAttributes().isCrouching) stack.translate(0, 0.1F, 0);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.37F, 0.45F);
+                    if (is(state, CROUCHING)) stack.translate(0, 0.1F, 0);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.37F, 0.45F);
                     break;
                 case BACK:
                     stack.translate(riderOffset.x, riderOffset.y, riderOffset.z);
@@ -37,23 +39,23 @@ public enum PonyTransformation {
     },
     LANKY(Size.LANKY, 0, 2.6F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isSwimming) stack.translate(0, -0.2F, 0);
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.15F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.6F, 0.15F);
-            if (model.isRiding()) stack.translate(0, 0, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, SWIMMING)) stack.translate(0, -0.2F, 0);
+            if (is(state, CROUCHING)) stack.translate(0, -0.15F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.6F, 0.15F);
+            if (is(state, RIDING)) stack.translate(0, 0, -0.2F);
 
             switch (part) {
                 case NECK:
                     stack.translate(0, -0.15F, -0.07F);
-                    if (model.getAttributes().isCrouching) stack.translate(-0.03F, 0.16F, 0.07F);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.5F, 0.25F);
+                    if (is(state, CROUCHING)) stack.translate(-0.03F, 0.16F, 0.07F);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.5F, 0.25F);
                     break;
                 case HEAD:
                     stack.translate(0, -0.17F, -0.04F);
-                    if (model.getAttributes().isSleeping) stack.translate(0, 0, -0.1F);
-                    if (model.getAttributes().isCrouching) stack.translate(0, 0.15F, 0);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.45F, 0.45F);
+                    if (is(state, SLEEPING)) stack.translate(0, 0, -0.1F);
+                    if (is(state, CROUCHING)) stack.translate(0, 0.15F, 0);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.45F, 0.45F);
                     break;
                 case BODY:
                     stack.translate(0, -0.2F, -0.04F);
@@ -74,22 +76,22 @@ public enum PonyTransformation {
     },
     BULKY(Size.BULKY, 0, 2.3F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.15F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.6F, 0.25F);
-            if (model.isRiding()) stack.translate(0, 0, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, CROUCHING)) stack.translate(0, -0.15F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.6F, 0.25F);
+            if (is(state, RIDING)) stack.translate(0, 0, -0.2F);
 
             switch (part) {
                 case NECK:
                     stack.translate(0, -0.15F, -0.07F);
-                    if (model.getAttributes().isCrouching) stack.translate(-0.03F, 0.16F, 0.07F);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.5F, 0.25F);
+                    if (is(state, CROUCHING)) stack.translate(-0.03F, 0.16F, 0.07F);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.5F, 0.25F);
                     break;
                 case HEAD:
                     stack.translate(0, -0.17F, -0.04F);
-                    if (model.getAttributes().isSleeping) stack.translate(0, 0, -0.1F);
-                    if (model.getAttributes().isCrouching) stack.translate(0, 0.15F, 0);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.15F, 0.25F);
+                    if (is(state, SLEEPING)) stack.translate(0, 0, -0.1F);
+                    if (is(state, CROUCHING)) stack.translate(0, 0.15F, 0);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.15F, 0.25F);
                     break;
                 case BODY:
                     stack.translate(0, -0.2F, -0.04F);
@@ -110,11 +112,11 @@ public enum PonyTransformation {
     },
     FOAL(Size.FOAL, 0, 3.8F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isSwimming) stack.translate(0, -0.9F, 0);
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.3F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.65F, -0.3F);
-            if (model.isRiding()) stack.translate(0, -0.6F, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, SWIMMING)) stack.translate(0, -0.9F, 0);
+            if (is(state, CROUCHING)) stack.translate(0, -0.3F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.65F, -0.3F);
+            if (is(state, RIDING)) stack.translate(0, -0.6F, -0.2F);
 
             stack.translate(0, 0.2F, 0);
 
@@ -122,10 +124,10 @@ public enum PonyTransformation {
                 case NECK:
                     stack.translate(0, 0, 0.04F);
                     stack.scale(1.3F, 1.3F, 1.3F);
-                    if (model.getAttributes().isCrouching) stack.translate(0, -0.01F, 0.15F);
+                    if (is(state, CROUCHING)) stack.translate(0, -0.01F, 0.15F);
                     break;
                 case HEAD:
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.9F, 0.9F);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.9F, 0.9F);
                     stack.scale(1.3F, 1.3F, 1.3F);
                     break;
                 case LEGS:
@@ -141,21 +143,21 @@ public enum PonyTransformation {
     },
     TALL(Size.TALL, 0, 2.2F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.15F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.5F, 0.35F);
-            if (model.isRiding()) stack.translate(0, 0.1F, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, CROUCHING)) stack.translate(0, -0.15F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.5F, 0.35F);
+            if (is(state, RIDING)) stack.translate(0, 0.1F, -0.2F);
 
             switch (part) {
                 case NECK:
                     stack.translate(0, -0.09F, 0);
                     stack.scale(1, 1.1F, 1);
-                    if (model.getAttributes().isCrouching) stack.translate(-0.02F, -0.02F, 0.1F);
+                    if (is(state, CROUCHING)) stack.translate(-0.02F, -0.02F, 0.1F);
                     break;
                 case HEAD:
                     stack.translate(0.01F, -0.15F, 0);
-                    if (model.getAttributes().isCrouching) stack.translate(0, 0.04F, 0);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.17F, 0.25F);
+                    if (is(state, CROUCHING)) stack.translate(0, 0.04F, 0);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.17F, 0.25F);
                     break;
                 case BODY:
                 case TAIL:
@@ -164,10 +166,9 @@ public enum PonyTransformation {
                 case LEGS:
                     stack.translate(0, -0.27F, 0.03F);
                     stack.scale(1, 1.18F, 1);
-                    if (model.getAttributes().isGoingFast) stack.translate(0, 0.05F, 0);
+                    if (is(state, GOING_FAST)) stack.translate(0, 0.05F, 0);
                     break;
                 case BACK:
-                    riderOffset = new Vec3d(0, 2.2F, 0.75F);
                     stack.translate(riderOffset.x, riderOffset.y, riderOffset.z);
                     break;
             }
@@ -175,22 +176,22 @@ public enum PonyTransformation {
     },
     YEARLING(Size.YEARLING, 0, 3.8F, 0.75F) {
         @Override
-        public void transform(IModel model, BodyPart part, MatrixStack stack) {
-            if (model.getAttributes().isSwimming) stack.translate(0, -0.6F, 0);
-            if (model.getAttributes().isCrouching) stack.translate(0, -0.15F, 0);
-            if (model.getAttributes().isSleeping) stack.translate(0, -0.4F, -0.3F);
-            if (model.isRiding()) stack.translate(0, -0.4F, -0.2F);
+        protected void build(int state, BodyPart part, MatrixStack stack) {
+            if (is(state, SWIMMING)) stack.translate(0, -0.6F, 0);
+            if (is(state, CROUCHING)) stack.translate(0, -0.15F, 0);
+            if (is(state, SLEEPING)) stack.translate(0, -0.4F, -0.3F);
+            if (is(state, RIDING)) stack.translate(0, -0.4F, -0.2F);
 
             switch (part) {
                 case NECK:
                     stack.translate(0, -0.09F, -0.01F);
                     stack.scale(1, 1.1F, 1);
-                    if (model.getAttributes().isCrouching) stack.translate(-0.02F, -0.02F, 0.1F);
+                    if (is(state, CROUCHING)) stack.translate(-0.02F, -0.02F, 0.1F);
                     break;
                 case HEAD:
                     stack.translate(0, -0.15F, 0.01F);
-                    if (model.getAttributes().isCrouching) stack.translate(0, 0.04F, 0);
-                    if (model.getAttributes().isSwimmingRotated) stack.translate(0, 0.8F, 0.85F);
+                    if (is(state, CROUCHING)) stack.translate(0, 0.04F, 0);
+                    if (is(state, SWIMMING_ROTATED)) stack.translate(0, 0.8F, 0.85F);
                     stack.scale(1.15F, 1.15F, 1.15F);
                     break;
                 case BODY:
@@ -200,7 +201,7 @@ public enum PonyTransformation {
                 case LEGS:
                     stack.translate(0, -0.265F, 0.03F);
                     stack.scale(1, 1.18F, 1);
-                    if (model.getAttributes().isGoingFast) stack.translate(0, 0.05F, 0);
+                    if (is(state, GOING_FAST)) stack.translate(0, 0.05F, 0);
                     break;
                 case BACK:
                     stack.translate(riderOffset.x, riderOffset.y, riderOffset.z);
@@ -209,18 +210,46 @@ public enum PonyTransformation {
         }
     };
 
+    private static final int SWIMMING = 1;
+    private static final int SWIMMING_ROTATED = 2;
+    private static final int CROUCHING = 4;
+    private static final int SLEEPING = 8;
+    private static final int GOING_FAST = 16;
+    private static final int RIDING = 32;
+
+    private static final int STATES = 64;
+
+    private static final BodyPart[] PARTS = BodyPart.values();
+
     private static final Map<Size, PonyTransformation> REGISTRY = Maps.newEnumMap(Size.class);
 
+    private static final Affine SLEEPING_ROTATION = Affine.of(stack -> {
+        stack.multiply(Vector3f.POSITIVE_X.getDegreesQuaternion(90));
+        stack.multiply(Vector3f.POSITIVE_Y.getDegreesQuaternion(180));
+    });
+
     static {
         for (PonyTransformation i : values()) {
             REGISTRY.put(i.size, i);
+
+            for (int state = 0; state < STATES; state++) {
+                for (BodyPart part : PARTS) {
+                    int s = state;
+                    i.table[state * PARTS.length + part.ordinal()] = Affine.of(stack -> i.build(s, part, stack));
+                }
+            }
         }
     }
 
-    protected Vec3d riderOffset;
+    protected final Vec3d riderOffset;
 
     private final Size size;
 
+    /**
+     * The combined transformation of every body part in every state a model can be in.
+     */
+    private final Affine[] table = new Affine[STATES * PARTS.length];
+
     PonyTransformation(Size size, float rX, float rY, float rZ) {
         this.size = size;
         riderOffset = new Vec3d(rX, rY, rZ);
@@ -230,7 +259,51 @@ public enum PonyTransformation {
         return riderOffset;
     }
 
-    public abstract void transform(IModel model, BodyPart part, MatrixStack stack);
+    /**
+     * Applies everything a pony model does to the stack before drawing one of its body parts:
+     * lying down to sleep, tilting the head with its motion, and the transformation for its size.
+     */
+    public static void transformPart(IModel model, BodyPart part, MatrixStack stack) {
+        ModelAttributes<?> attributes = model.getAttributes();
+
+        if (attributes.isSleeping) {
+            SLEEPING_ROTATION.apply(stack);
+        }
+
+        if (part == BodyPart.HEAD && attributes.motionPitch != 0) {
+            Affine.rotateX(stack, attributes.motionPitch);
+        }
+
+        forSize(model.getSize()).transform(model, part, stack);
+    }
+
+    /**
+     * Applies the transformation for one of the given model's body parts to the stack.
+     */
+    public void transform(IModel model, BodyPart part, MatrixStack stack) {
+        table[getState(model) * PARTS.length + part.ordinal()].apply(stack);
+    }
+
+    /**
+     * Issues the individual translations and scales making up a body part's transformation.
+     * Only used to fill in the table.
+     */
+    protected abstract void build(int state, BodyPart part, MatrixStack stack);
+
+    private static int getState(IModel model) {
+        ModelAttributes<?> attributes = model.getAttributes();
+
+        return (attributes.isSwimming ? SWIMMING : 0)
+             | (attributes.isSwimmingRotated ? SWIMMING_ROTATED : 0)
+             | (attributes.isCrouching ? CROUCHING : 0)
+             | (attributes.isSleeping ? SLEEPING : 0)
+             | (attributes.isGoingFast ? GOING_FAST : 0)
+             | (model.isRiding() ? RIDING : 0);
+    }
+
+    private static boolean is(int state, int flag) {
+        return (state & flag) != 0;
+    }
 
     public static PonyTransformation forSize(Size size) {
         return REGISTRY.getOrDefault(size, NORMAL);
@@ -0,0 +1,81 @@
+package com.minelittlepony.client.util.render;
+
+import net.minecraft.client.render.VertexConsumer;
+
+/**
+ * Passes vertices through to another consumer, keeping count of how many went by.
+ *
+ * Instances are meant to be reused by re-wrapping them around each new consumer.
+ */
+public final class CountingVertexConsumer implements VertexConsumer {
+
+    private VertexConsumer delegate;
+
+    private int count;
+
+    /**
+     * Starts passing vertices through to the given consumer.
+     */
+    public CountingVertexConsumer wrap(VertexConsumer delegate) {
+        this.delegate = delegate;
+        return this;
+    }
+
+    /**
+     * Gets the number of vertices counted since the last reset, and starts counting again from zero.
+     */
+    public int reset() {
+        int count = this.count;
+        this.count = 0;
+        return count;
+    }
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+        delegate.vertex(x, y, z);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer color(int red, int green, int blue, int alpha) {
+        delegate.color(red, green, blue, alpha);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer texture(float u, float v) {
+        delegate.texture(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer overlay(int u, int v) {
+        delegate.overlay(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer light(int u, int v) {
+        delegate.light(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+        delegate.normal(x, y, z);
+        return this;
+    }
+
+    @Override
+    public void next() {
+        count++;
+        delegate.next();
+    }
+
+    @Override
+    public void vertex(float x, float y, float z, float red, float green, float blue, float alpha, float u, float v, int overlay, int light, float normalX, float normalY, float normalZ) {
+        // forwarded whole so the delegate keeps its fast path
+        count++;
+        delegate.vertex(x, y, z, red, green, blue, alpha, u, v, overlay, light, normalX, normalY, normalZ);
+    }
+}
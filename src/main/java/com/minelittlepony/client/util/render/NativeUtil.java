@@ -1,14 +1,25 @@
 package com.minelittlepony.client.util.render;
 
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.texture.AbstractTexture;
 import net.minecraft.client.texture.NativeImage;
 import net.minecraft.client.texture.TextureManager;
 import net.minecraft.util.Identifier;
 
+import com.minelittlepony.client.PonyMetrics;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL30;
+
+import java.nio.IntBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
 import static com.mojang.blaze3d.platform.GlStateManager.getTexLevelParameter;
 import static org.lwjgl.opengl.GL11.*;
 
@@ -89,6 +100,82 @@ public class NativeUtil {
         }
     }
 
+    /**
+     * Largest texture, in pixels, the scratch image is kept around for. Enough for a 128x128 skin.
+     * Anything bigger gets an image of its own that is closed as soon as it's been read.
+     */
+    private static final int MAX_SCRATCH_PIXELS = 128 * 128;
+
+    /**
+     * Scratch image reused between readbacks of textures with the same size and format.
+     */
+    @Nullable
+    private static NativeImage scratchImage;
+
+    private static IntBuffer scratchRegion = BufferUtils.createIntBuffer(16);
+
+    /**
+     * Reads back a region from the top-left corner of an uploaded texture without copying the rest of it.
+     *
+     * @return false if the region couldn't be read on its own, in which case callers should fall back to {@link #parseImage}.
+     */
+    public static boolean readRegion(Identifier resource, int regionWidth, int regionHeight, int[] argbOut) {
+        MinecraftClient mc = MinecraftClient.getInstance();
+
+        if (!mc.isOnThread()) {
+            throw new IllegalStateException("This can only be called from the main thread.");
+        }
+
+        AbstractTexture texture = mc.getTextureManager().getTexture(resource);
+
+        if (texture == null || !GL.getCapabilities().OpenGL30) {
+            return false;
+        }
+
+        texture.bindTexture();
+
+        if (getTexLevelParameter(GL_TEXTURE_2D, 0, GL_TEXTURE_WIDTH) < regionWidth
+         || getTexLevelParameter(GL_TEXTURE_2D, 0, GL_TEXTURE_HEIGHT) < regionHeight) {
+            return false;
+        }
+
+        if (scratchRegion.capacity() < regionWidth * regionHeight) {
+            scratchRegion = BufferUtils.createIntBuffer(regionWidth * regionHeight);
+        }
+
+        int previous = glGetInteger(GL30.GL_READ_FRAMEBUFFER_BINDING);
+        int framebuffer = GL30.glGenFramebuffers();
+
+        try {
+            GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, framebuffer);
+            GL30.glFramebufferTexture2D(GL30.GL_READ_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, texture.getGlId(), 0);
+
+            // not every internal format can be attached as a colour buffer
+            if (GL30.glCheckFramebufferStatus(GL30.GL_READ_FRAMEBUFFER) != GL30.GL_FRAMEBUFFER_COMPLETE) {
+                return false;
+            }
+
+            glPixelStorei(GL_PACK_ROW_LENGTH, 0);
+            glPixelStorei(GL_PACK_SKIP_PIXELS, 0);
+            glPixelStorei(GL_PACK_SKIP_ROWS, 0);
+
+            scratchRegion.clear();
+            PonyMetrics.GL_READBACKS.increment();
+            glReadPixels(0, 0, regionWidth, regionHeight, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, scratchRegion);
+            scratchRegion.get(argbOut, 0, regionWidth * regionHeight);
+
+            return true;
+        } finally {
+            GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, previous);
+            GL30.glDeleteFramebuffers(framebuffer);
+        }
+    }
+
+    /**
+     * Reads back the whole of an uploaded texture.
+     *
+     * The image passed to the consumer is reused between calls, so it must not be kept after the consumer returns.
+     */
     public static <T> T parseImage(Identifier resource, Function<NativeImage, T> consumer) {
         MinecraftClient mc = MinecraftClient.getInstance();
         TextureManager textures = mc.getTextureManager();
@@ -100,9 +187,6 @@ public class NativeUtil {
         // recreate NativeImage from the GL matrix
         textures.bindTexture(resource);
 
-                                                 // TODO: This returns values that are too specific.
-                                                 //       Can we change the level (0) here to something
-                                                 //       else to actually get what we need?
         int format = getTexLevelParameter(GL_TEXTURE_2D, 0, GL_TEXTURE_INTERNAL_FORMAT);
         int width  = getTexLevelParameter(GL_TEXTURE_2D, 0, GL_TEXTURE_WIDTH);
         int height = getTexLevelParameter(GL_TEXTURE_2D, 0, GL_TEXTURE_HEIGHT);
@@ -111,13 +195,31 @@ public class NativeUtil {
             throw new IllegalStateException("GL texture not uploaded yet");
         }
 
-        try (NativeImage image = new NativeImage(InternalFormat.valueOf(format).getClassification(), width, height, false)) {
-            // This allocates a new array to store the image every time.
-            // Don't do this every time. Keep a cache and store it so we don't destroy memory.
-            image.loadFromTextureImage(0, false);
+        NativeImage.Format classification = InternalFormat.valueOf(format).getClassification();
+
+        if (width * height > MAX_SCRATCH_PIXELS) {
+            try (NativeImage image = new NativeImage(classification, width, height, false)) {
+                PonyMetrics.GL_READBACKS.increment();
+                image.loadFromTextureImage(0, false);
+
+                return consumer.apply(image);
+            }
+        }
 
-            return consumer.apply(image);
+        if (scratchImage == null
+                || scratchImage.getFormat() != classification
+                || scratchImage.getWidth() != width
+                || scratchImage.getHeight() != height) {
+            if (scratchImage != null) {
+                scratchImage.close();
+            }
+            scratchImage = new NativeImage(classification, width, height, false);
         }
+
+        PonyMetrics.GL_READBACKS.increment();
+        scratchImage.loadFromTextureImage(0, false);
+
+        return consumer.apply(scratchImage);
     }
 
 }
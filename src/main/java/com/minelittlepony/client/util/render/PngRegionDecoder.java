@@ -0,0 +1,274 @@
+package com.minelittlepony.client.util.render;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes only the top-left corner of a png image.
+ *
+ * Image data is inflated row by row only until the requested region is covered,
+ * and only the bytes inside of it are unfiltered, so reading a few pixels from the
+ * corner of an HD skin touches a tiny fraction of its data.
+ *
+ * Supports non-interlaced 8-bit images of every colour type, and indexed images of any bit depth.
+ */
+public final class PngRegionDecoder {
+    private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+
+    private static final int IHDR = 0x49484452;
+    private static final int PLTE = 0x504C5445;
+    private static final int TRNS = 0x74524E53;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+
+    private static final int GREYSCALE = 0;
+    private static final int TRUECOLOR = 2;
+    private static final int INDEXED = 3;
+    private static final int GREYSCALE_ALPHA = 4;
+    private static final int TRUECOLOR_ALPHA = 6;
+
+    /**
+     * Largest amount of image data, in bytes, that will be inflated to reach the region.
+     * Images with rows so wide that this isn't enough are left to the full decoder.
+     */
+    private static final int MAX_INFLATED = 1 << 24;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private PngRegionDecoder() {}
+
+    /**
+     * Decodes the top-left corner of a png image into argb pixels.
+     *
+     * @param png The png file's contents
+     * @param regionWidth Width of the region to decode
+     * @param regionHeight Height of the region to decode
+     * @param argbOut Destination for the decoded pixels, in rows of regionWidth
+     *
+     * @return false if the image is smaller than the region or uses a format this decoder doesn't support.
+     * @throws IOException if the png is malformed
+     */
+    public static boolean decode(byte[] png, int regionWidth, int regionHeight, int[] argbOut) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+
+        if (png.length < 8 || buffer.getLong(0) != SIGNATURE) {
+            throw new IOException("Not a png image");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        Inflater inflater = scratch.inflater;
+        inflater.reset();
+
+        int colorType = -1;
+        int bitDepth = 0;
+        int bitsPerPixel = 0;
+        int stride = 0;
+        int needed = 0;
+        int filled = 0;
+
+        int[] palette = new int[0];
+        int transparent = -1;
+
+        int pos = 8;
+        while (pos + 8 <= png.length) {
+            int length = buffer.getInt(pos);
+            int type = buffer.getInt(pos + 4);
+            int data = pos + 8;
+
+            if (length < 0 || data + length > png.length) {
+                throw new IOException("Truncated png chunk");
+            }
+
+            if (type == IHDR) {
+                if (length < 13) {
+                    throw new IOException("Truncated png header");
+                }
+
+                int width = buffer.getInt(data);
+                int height = buffer.getInt(data + 4);
+                bitDepth = png[data + 8] & 0xFF;
+                colorType = png[data + 9] & 0xFF;
+                int interlace = png[data + 12] & 0xFF;
+
+                if (width < regionWidth || height < regionHeight || interlace != 0 || getChannels(colorType) == 0
+                        || (bitDepth != 8 && colorType != INDEXED) || bitDepth > 8) {
+                    return false;
+                }
+
+                bitsPerPixel = getChannels(colorType) * bitDepth;
+                long longStride = ((long)width * bitsPerPixel + 7) / 8;
+                long longNeeded = (longStride + 1) * (regionHeight - 1) + 1 + ((long)regionWidth * bitsPerPixel + 7) / 8;
+
+                if (longNeeded > MAX_INFLATED) {
+                    return false;
+                }
+
+                stride = (int)longStride;
+                needed = (int)longNeeded;
+
+                if (scratch.rows.length < needed) {
+                    scratch.rows = new byte[needed];
+                }
+            } else if (type == PLTE) {
+                palette = new int[length / 3];
+                for (int i = 0; i < palette.length; i++) {
+                    int entry = data + i * 3;
+                    palette[i] = 0xFF000000 | (png[entry] & 0xFF) << 16 | (png[entry + 1] & 0xFF) << 8 | (png[entry + 2] & 0xFF);
+                }
+            } else if (type == TRNS) {
+                if (colorType == INDEXED) {
+                    for (int i = 0; i < length && i < palette.length; i++) {
+                        palette[i] = (palette[i] & 0xFFFFFF) | (png[data + i] & 0xFF) << 24;
+                    }
+                } else if (colorType == GREYSCALE) {
+                    if (length < 2) {
+                        throw new IOException("Truncated png transparency");
+                    }
+                    transparent = buffer.getShort(data) & 0xFF;
+                } else if (colorType == TRUECOLOR) {
+                    if (length < 6) {
+                        throw new IOException("Truncated png transparency");
+                    }
+                    transparent = (buffer.getShort(data) & 0xFF) << 16 | (buffer.getShort(data + 2) & 0xFF) << 8 | (buffer.getShort(data + 4) & 0xFF);
+                }
+            } else if (type == IDAT) {
+                if (colorType < 0) {
+                    throw new IOException("Png image data before header");
+                }
+
+                inflater.setInput(png, data, length);
+
+                try {
+                    while (filled < needed) {
+                        int read = inflater.inflate(scratch.rows, filled, needed - filled);
+
+                        if (read == 0) {
+                            if (inflater.needsInput()) {
+                                break;
+                            }
+                            throw new IOException("Png image data ended early");
+                        }
+
+                        filled += read;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt png image data", e);
+                }
+
+                if (filled >= needed) {
+                    unfilter(scratch.rows, stride, Math.max(1, bitsPerPixel / 8), (regionWidth * bitsPerPixel + 7) / 8, regionHeight);
+
+                    for (int y = 0; y < regionHeight; y++) {
+                        for (int x = 0; x < regionWidth; x++) {
+                            argbOut[y * regionWidth + x] = getPixel(scratch.rows, y * (stride + 1) + 1, x, colorType, bitDepth, palette, transparent);
+                        }
+                    }
+
+                    return true;
+                }
+            } else if (type == IEND) {
+                break;
+            }
+
+            pos = data + length + 4;
+        }
+
+        throw new IOException("Png ended before the region was decoded");
+    }
+
+    private static int getChannels(int colorType) {
+        switch (colorType) {
+            case GREYSCALE:
+            case INDEXED: return 1;
+            case GREYSCALE_ALPHA: return 2;
+            case TRUECOLOR: return 3;
+            case TRUECOLOR_ALPHA: return 4;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Reverses the per-row filtering on the first few bytes of each row.
+     * Every filter only depends on bytes to the left or above, so nothing outside of the region is needed.
+     */
+    private static void unfilter(byte[] rows, int stride, int bytesPerPixel, int regionBytes, int regionHeight) throws IOException {
+        for (int y = 0; y < regionHeight; y++) {
+            int filter = rows[y * (stride + 1)] & 0xFF;
+            int current = y * (stride + 1) + 1;
+            int previous = current - (stride + 1);
+
+            for (int i = 0; i < regionBytes; i++) {
+                int a = i >= bytesPerPixel ? rows[current + i - bytesPerPixel] & 0xFF : 0;
+                int b = y > 0 ? rows[previous + i] & 0xFF : 0;
+                int c = y > 0 && i >= bytesPerPixel ? rows[previous + i - bytesPerPixel] & 0xFF : 0;
+
+                int value = rows[current + i] & 0xFF;
+
+                switch (filter) {
+                    case 0: break;
+                    case 1: value += a; break;
+                    case 2: value += b; break;
+                    case 3: value += (a + b) >>> 1; break;
+                    case 4: value += paeth(a, b, c); break;
+                    default: throw new IOException("Unknown png filter type " + filter);
+                }
+
+                rows[current + i] = (byte)value;
+            }
+        }
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static int getPixel(byte[] rows, int row, int x, int colorType, int bitDepth, int[] palette, int transparent) throws IOException {
+        switch (colorType) {
+            case TRUECOLOR_ALPHA: {
+                int i = row + x * 4;
+                return (rows[i + 3] & 0xFF) << 24 | (rows[i] & 0xFF) << 16 | (rows[i + 1] & 0xFF) << 8 | (rows[i + 2] & 0xFF);
+            }
+            case TRUECOLOR: {
+                int i = row + x * 3;
+                int rgb = (rows[i] & 0xFF) << 16 | (rows[i + 1] & 0xFF) << 8 | (rows[i + 2] & 0xFF);
+                return rgb == transparent ? rgb : 0xFF000000 | rgb;
+            }
+            case GREYSCALE_ALPHA: {
+                int i = row + x * 2;
+                int grey = rows[i] & 0xFF;
+                return (rows[i + 1] & 0xFF) << 24 | grey << 16 | grey << 8 | grey;
+            }
+            case GREYSCALE: {
+                int grey = rows[row + x] & 0xFF;
+                int rgb = grey << 16 | grey << 8 | grey;
+                return grey == transparent ? rgb : 0xFF000000 | rgb;
+            }
+            case INDEXED: {
+                int bit = x * bitDepth;
+                int index = ((rows[row + bit / 8] & 0xFF) >> (8 - bitDepth - bit % 8)) & ((1 << bitDepth) - 1);
+
+                if (index >= palette.length) {
+                    throw new IOException("Png palette index out of range");
+                }
+                return palette[index];
+            }
+            default:
+                throw new IOException("Unknown png colour type " + colorType);
+        }
+    }
+
+    private static final class Scratch {
+        private final Inflater inflater = new Inflater();
+        private byte[] rows = new byte[0];
+    }
+}
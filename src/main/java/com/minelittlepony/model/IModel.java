@@ -95,4 +95,12 @@ public interface IModel extends ModelWithArms {
     default boolean isWearing(Wearable wearable) {
         return getMetadata().isWearing(wearable);
     }
+
+    /**
+     * Gets everything this model is wearing as a bitmask, indexed by their ordinals.
+     * Models that override {@link #isWearing} to force gear on must include it here too.
+     */
+    default int getWearableMask() {
+        return getMetadata().getWearableMask();
+    }
 }
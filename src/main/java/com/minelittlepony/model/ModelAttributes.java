@@ -2,6 +2,7 @@ package com.minelittlepony.model;
 
 import com.minelittlepony.api.pony.IPony;
 import com.minelittlepony.client.render.EquineRenderManager;
+import com.minelittlepony.client.render.EquineRenderManager.Detail;
 import com.minelittlepony.client.render.EquineRenderManager.Mode;
 import com.minelittlepony.util.MathUtil;
 
@@ -12,6 +13,12 @@ import net.minecraft.util.math.Vec3d;
 
 import java.util.UUID;
 
+/**
+ * What an entity is doing, as seen by the model drawing it.
+ *
+ * Every entity has its own, kept between frames, so nothing worked out for one entity carries over to the next
+ * one drawn by the same model.
+ */
 public class ModelAttributes<T extends LivingEntity> {
 
     /**
@@ -79,6 +86,16 @@ public class ModelAttributes<T extends LivingEntity> {
      */
     public float visualHeight = 2F;
 
+    /**
+     * How much detail to draw the model with. Set by the renderer based on how far away it is.
+     */
+    public Detail detail = Detail.FULL;
+
+    /**
+     * True if the model may reuse the pose it last computed for the entity instead of animating it again this frame.
+     */
+    public boolean reusePose;
+
     /**
      * Checks flying and speed conditions and sets rainboom to true if we're a species with wings and is going faaast.
      */
@@ -92,6 +109,11 @@ public class ModelAttributes<T extends LivingEntity> {
         motionLerp = MathUtil.clampLimit(zMotion * 30, 1);
     }
 
+    /**
+     * Works out what the entity is doing for the model about to be posed.
+     *
+     * Stays on the render thread along with posing, as the parts being posed and their interpolators still belong to the shared model.
+     */
     public void updateLivingState(T entity, IPony pony, EquineRenderManager.Mode mode) {
         isSitting = pony.isSitting(entity);
         isCrouching = !isSitting && mode == Mode.THIRD_PERSON && pony.isCrouching(entity);
@@ -26,6 +26,44 @@ public class PonyConfig extends JsonConfig {
     public final Setting<Boolean> fpsmagic =   value("settings", "fpsmagic", true);
     public final Setting<Boolean> ponyskulls = value("settings", "ponyskulls", true);
     public final Setting<Boolean> frustrum =   value("settings", "frustrum", true);
+    public final Setting<Boolean> prefetch =   value("settings", "prefetch", true);
+    public final Setting<Boolean> slowanimations = value("settings", "slowanimations", true);
+
+    /**
+     * The most skins the prefetcher is allowed to be loading at a time.
+     */
+    public final Setting<Integer> prefetchConcurrency = value("prefetchConcurrency", 4);
+
+    /**
+     * The most ponies to keep cached at once.
+     */
+    public final Setting<Integer> cacheSize = value("cacheSize", 1024);
+
+    /**
+     * Seconds a cached pony can go unused before it's dropped.
+     */
+    public final Setting<Integer> cacheExpiry = value("cacheExpiry", 300);
+
+    /**
+     * Whether ponies dropped from the cache are kept for as long as there is memory to spare.
+     */
+    public final Setting<Boolean> softCache = value("softCache", true);
+
+    /**
+     * Distance in blocks beyond which ponies are drawn without their overlay layers and gear.
+     */
+    public final Setting<Integer> reducedDetailDistance = value("reducedDetailDistance", 32);
+
+    /**
+     * Distance in blocks beyond which ponies are also drawn with short tails and without any features.
+     */
+    public final Setting<Integer> minimalDetailDistance = value("minimalDetailDistance", 64);
+
+    /**
+     * Distance in blocks over which pony animations are slowed down to half as often, when slowanimations is on.
+     * Every further multiple of it halves them again, down to once every eight frames.
+     */
+    public final Setting<Integer> animationStepDistance = value("animationStepDistance", 16);
 
     /**
      * Debug override for pony sizes.